@@ -0,0 +1,50 @@
+package ldtk;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the derivation of asset names from filenames that Assets does when populating and depopulating assets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AssetsBenchmark {
+
+	private String[] filenames;
+	private String[] extensions;
+
+	@Setup
+	public void setUp() {
+		filenames = new String[] {
+			"data/atlases/pack.pack",
+			"data/textures/grass.png",
+			"data/sounds/pickup.ogg",
+			"data/fonts/consolas32.fnt",
+			"bin/data/level1/textures/building.png",
+			"bin/data/level1/music/theme.ogg",
+		};
+		extensions = new String[] { ".pack", ".png", ".ogg", ".fnt", ".png", ".ogg" };
+	}
+
+	@Benchmark
+	public void assetName(Blackhole blackhole) {
+		for (int i = 0; i < filenames.length; i++) {
+			blackhole.consume(Assets.assetName(filenames[i], extensions[i]));
+		}
+	}
+}
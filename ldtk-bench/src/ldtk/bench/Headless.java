@@ -0,0 +1,84 @@
+package ldtk.bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * Sets up libGDX to run without a display or a GPU. The headless backend provides files, audio and logging, while
+ * graphics and GL are replaced with stand-ins that report a fixed delta time and do nothing, and input is scripted.
+ */
+public final class Headless {
+
+	/**
+	 * The width of the pretend screen.
+	 */
+	public static final int WIDTH = 800;
+
+	/**
+	 * The height of the pretend screen.
+	 */
+	public static final int HEIGHT = 480;
+
+	private static final String DEFAULT_ASSET_PATH = "../ldtk-demo1-android/assets/data";
+
+	private static HeadlessApplication app;
+	private static ScriptedInput input;
+
+	private Headless() {
+	}
+
+	/**
+	 * Starts libGDX headless, if it hasn't been started already, with graphics that always report the given delta.
+	 * Assets are found through the "ldtk.assetPath" system property, which defaults to the demo's assets.
+	 * 
+	 * @param delta the delta time reported by Gdx.graphics.
+	 * @return the scripted input that is installed as Gdx.input.
+	 */
+	public static synchronized ScriptedInput start(float delta) {
+		if (System.getProperty("ldtk.assetPath") == null) {
+			System.setProperty("ldtk.assetPath", DEFAULT_ASSET_PATH);
+		}
+		if (app == null) {
+			HeadlessApplicationConfiguration cfg = new HeadlessApplicationConfiguration();
+			cfg.renderInterval = 1.0f;
+			app = new HeadlessApplication(new ApplicationAdapter() {
+			}, cfg);
+			input = new ScriptedInput();
+		}
+		GL20 gl = NoopGL.create();
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+		Gdx.gl10 = null;
+		Gdx.gl11 = null;
+		Gdx.graphics = createGraphics(gl, delta);
+		Gdx.input = input.input();
+		input.releaseAll();
+		return input;
+	}
+
+	private static Graphics createGraphics(final GL20 gl, final float delta) {
+		return Stubs.create(new Stubs.Answer() {
+			@Override
+			public Object answer(String name, Object[] args) {
+				if (name.equals("getDeltaTime") || name.equals("getRawDeltaTime")) {
+					return delta;
+				} else if (name.equals("getWidth")) {
+					return WIDTH;
+				} else if (name.equals("getHeight")) {
+					return HEIGHT;
+				} else if (name.equals("getFramesPerSecond")) {
+					return Math.round(1 / delta);
+				} else if (name.equals("isGL20Available") || name.equals("isContinuousRendering")) {
+					return true;
+				} else if (name.equals("getGL20") || name.equals("getGLCommon")) {
+					return gl;
+				}
+				return Stubs.DEFAULT;
+			}
+		}, Graphics.class);
+	}
+}
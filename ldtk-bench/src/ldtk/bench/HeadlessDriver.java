@@ -0,0 +1,133 @@
+package ldtk.bench;
+
+import ldtk.Kernel;
+import ldtk.demo1.App;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+
+/**
+ * Drives a full kernel running the demo, headless, for a number of ticks with scripted input. The script repeatedly
+ * starts a game from the menu, flies around firing for a while, then goes back to the menu, so that every tick
+ * exercises state selection, update, draw and the batch just as a player would.
+ */
+public class HeadlessDriver {
+
+	/**
+	 * The delta time of each tick.
+	 */
+	public static final float DELTA = 1 / 60f;
+
+	private static final int CYCLE_TICKS = 2000;
+	private static final int MOVE_TICKS = 60;
+	private static final int[] MOVES = { Keys.RIGHT, Keys.UP, Keys.LEFT, Keys.DOWN };
+
+	private final ScriptedInput input;
+	private final Kernel kernel;
+	private long tick;
+
+	/**
+	 * Starts libGDX headless and creates a kernel running the demo.
+	 */
+	public HeadlessDriver() {
+		this(false);
+	}
+
+	/**
+	 * Starts libGDX headless and creates a kernel running the demo, optionally in threaded mode.
+	 * 
+	 * @param isThreaded true to run the kernel in threaded mode.
+	 */
+	public HeadlessDriver(boolean isThreaded) {
+		this(isThreaded, false);
+	}
+
+	/**
+	 * Starts libGDX headless and creates a kernel running the demo, optionally in threaded mode and optionally with
+	 * the render queue sorting each frame's drawing.
+	 * 
+	 * @param isThreaded true to run the kernel in threaded mode.
+	 * @param isQueueingDraws true to enable the render queue.
+	 */
+	public HeadlessDriver(boolean isThreaded, boolean isQueueingDraws) {
+		input = Headless.start(DELTA);
+		kernel = new Kernel(new App());
+		kernel.setThreaded(isThreaded);
+		kernel.setRenderQueue(isQueueingDraws);
+		kernel.create();
+		kernel.resize(Headless.WIDTH, Headless.HEIGHT);
+	}
+
+	/**
+	 * Runs the kernel for the given number of ticks.
+	 * 
+	 * @param ticks the number of ticks.
+	 */
+	public void run(int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			script(tick++);
+			kernel.render();
+			input.endTick();
+		}
+	}
+
+	/**
+	 * Disposes of the kernel.
+	 */
+	public void dispose() {
+		kernel.dispose();
+	}
+
+	private void script(long tick) {
+		int local = (int) (tick % CYCLE_TICKS);
+		if (local == 0) {
+			// Press and release space on the menu to start playing.
+			input.releaseAll();
+			input.setKey(Keys.SPACE, true);
+		} else if (local == 1) {
+			input.setKey(Keys.SPACE, false);
+		} else if (local < CYCLE_TICKS - 4) {
+			// Hold fire and move around the screen.
+			input.releaseAll();
+			input.setKey(Keys.SPACE, true);
+			input.setKey(MOVES[(local / MOVE_TICKS) % MOVES.length], true);
+		} else if (local == CYCLE_TICKS - 4 || local == CYCLE_TICKS - 2) {
+			// Press and release escape to pause, and then again to quit to the menu.
+			input.releaseAll();
+			input.setKey(Keys.ESCAPE, true);
+		} else {
+			input.setKey(Keys.ESCAPE, false);
+		}
+	}
+
+	/**
+	 * Runs the demo for the given number of ticks, 10000 by default, and reports the mean time per tick. Pass
+	 * "threaded" after the number of ticks to run the kernel in threaded mode, and "queued" to enable the render queue
+	 * and report how many times the batch was flushed in the last frame, before and after sorting.
+	 * 
+	 * @param args the number of ticks, then optionally "threaded" and/or "queued".
+	 */
+	public static void main(String[] args) {
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		boolean isThreaded = false;
+		boolean isQueueingDraws = false;
+		for (int i = 1; i < args.length; i++) {
+			isThreaded |= args[i].equals("threaded");
+			isQueueingDraws |= args[i].equals("queued");
+		}
+		HeadlessDriver driver = new HeadlessDriver(isThreaded, isQueueingDraws);
+		driver.run(CYCLE_TICKS);
+
+		long start = System.nanoTime();
+		driver.run(ticks);
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%d ticks in %.1f ms, %.2f us/tick%n", ticks, elapsed / 1e6, elapsed / 1e3 / ticks);
+		if (isQueueingDraws) {
+			System.out.printf("flushes in the last frame: %d unsorted, %d sorted%n", Kernel.renderQueue.unsortedFlushes(),
+					Kernel.renderQueue.sortedFlushes());
+		}
+
+		driver.dispose();
+		Gdx.app.exit();
+	}
+}
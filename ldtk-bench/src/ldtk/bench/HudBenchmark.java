@@ -0,0 +1,190 @@
+package ldtk.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import ldtk.Camera;
+import ldtk.Font;
+import ldtk.Kernel;
+import ldtk.State;
+import ldtk.StateSelector;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures drawing a HUD of ten numbers that change every frame through a whole kernel frame, either with Font's
+ * allocation-free number drawing or by building strings, with or without the render queue. Its main() also reports
+ * how much each way allocates. The GL stand-in boxes the arguments of every GL call, so whole frames allocate even
+ * when drawing the HUD doesn't, and the HUD's own drawing is measured separately.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HudBenchmark {
+
+	private static final int FRAMES = 1000;
+	private static final int NUMBERS = 10;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@Param({ "false", "true" })
+	public boolean isBuildingStrings;
+
+	@Param({ "false", "true" })
+	public boolean isQueueingDraws;
+
+	private Kernel kernel;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		kernel = start(isBuildingStrings, isQueueingDraws);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		kernel.dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FRAMES)
+	public void frame() {
+		for (int i = 0; i < FRAMES; i++) {
+			kernel.render();
+		}
+	}
+
+	/**
+	 * Draws ten labelled numbers down the left of the screen: five integers and five floats with two decimal places,
+	 * all of which change every frame.
+	 */
+	private static class HudState extends State {
+
+		private final boolean isBuildingStrings;
+		private final StringBuilder label = new StringBuilder();
+		private Camera camera;
+		private Font font;
+		private int frame;
+		private long allocatedBytes;
+
+		HudState(boolean isBuildingStrings) {
+			this.isBuildingStrings = isBuildingStrings;
+		}
+
+		@Override
+		public void enter() {
+			camera = Kernel.cameras.create("hud", Headless.WIDTH, Headless.HEIGHT);
+			font = Kernel.fonts.get("fonts/consolas32");
+		}
+
+		@Override
+		public void exit() {
+			camera.dispose();
+		}
+
+		@Override
+		public void draw() {
+			camera.activate();
+			frame++;
+			float x = -camera.width() / 2;
+			float y = camera.height() / 2;
+			long allocated = allocatedBytes();
+			for (int i = 0; i < NUMBERS; i++) {
+				y -= font.height();
+				boolean isInteger = i % 2 == 0;
+				int intValue = frame * (i + 1) - 5000;
+				float floatValue = frame * 0.37f * (i + 1);
+				if (isBuildingStrings) {
+					String value = isInteger ? Integer.toString(intValue) : String.format("%.2f", floatValue);
+					String text = "n" + i + " " + value;
+					font.draw(text, x, y, Color.WHITE);
+				} else {
+					label.setLength(0);
+					label.append('n').append((char) ('0' + i)).append(' ');
+					if (isInteger) {
+						Font.append(label, intValue);
+					} else {
+						Font.append(label, floatValue, 2);
+					}
+					font.draw(label, x, y, Color.WHITE);
+				}
+			}
+			allocatedBytes += allocatedBytes() - allocated;
+		}
+	}
+
+	private static Kernel start(boolean isBuildingStrings, boolean isQueueingDraws) {
+		return start(new HudState(isBuildingStrings), isQueueingDraws);
+	}
+
+	private static Kernel start(final HudState state, boolean isQueueingDraws) {
+		Headless.start(HeadlessDriver.DELTA);
+		Kernel kernel = new Kernel(new StateSelector() {
+			@Override
+			public State select() {
+				return state;
+			}
+		});
+		kernel.setRenderQueue(isQueueingDraws);
+		kernel.create();
+		kernel.resize(Headless.WIDTH, Headless.HEIGHT);
+		return kernel;
+	}
+
+	/**
+	 * Returns the number of bytes that the current thread has allocated so far, which doesn't allocate itself.
+	 */
+	private static long allocatedBytes() {
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Draws the HUD each way for the given number of frames, 10000 by default, and reports the mean time per frame and
+	 * the bytes allocated per frame while drawing the HUD and in the whole frame.
+	 *
+	 * @param args the number of frames.
+	 */
+	public static void main(String[] args) {
+		int frames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		for (int mode = 0; mode < 4; mode++) {
+			boolean isBuildingStrings = (mode & 1) != 0;
+			boolean isQueueingDraws = (mode & 2) != 0;
+			HudState state = new HudState(isBuildingStrings);
+			Kernel kernel = start(state, isQueueingDraws);
+			for (int i = 0; i < FRAMES; i++) {
+				kernel.render();
+			}
+			state.allocatedBytes = 0;
+			long allocated = allocatedBytes();
+			long start = System.nanoTime();
+			for (int i = 0; i < frames; i++) {
+				kernel.render();
+			}
+			long elapsed = System.nanoTime() - start;
+			allocated = allocatedBytes() - allocated;
+			System.out.printf("%-7s %-6s %6.2f us/frame, %7.1f bytes/frame drawing the HUD, %7.1f in all%n",
+					isBuildingStrings ? "strings" : "numbers", isQueueingDraws ? "queued" : "direct",
+					elapsed / 1e3 / frames, (double) state.allocatedBytes / frames, (double) allocated / frames);
+			kernel.dispose();
+		}
+		Gdx.app.exit();
+	}
+}
@@ -0,0 +1,53 @@
+package ldtk.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a whole kernel tick, from state selection to the end of the batch, for the demo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+	private static final int TICKS = 1000;
+
+	@Param({ "false", "true" })
+	public boolean threaded;
+
+	private HeadlessDriver driver;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		driver = new HeadlessDriver(threaded);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		driver.dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TICKS)
+	public void tick() {
+		driver.run(TICKS);
+	}
+}
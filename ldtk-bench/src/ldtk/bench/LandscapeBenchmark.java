@@ -0,0 +1,163 @@
+package ldtk.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import ldtk.Camera;
+import ldtk.Kernel;
+import ldtk.State;
+import ldtk.StateSelector;
+import ldtk.demo1.LandscapeRenderer;
+import ldtk.demo1.World;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CPU cost of drawing the demo's three scrolling landscape layers through a whole kernel frame, either
+ * from static meshes or by copying the visible vertices into the batch every frame, and with or without the render
+ * queue.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LandscapeBenchmark {
+
+	private static final int FRAMES = 1000;
+	private static final float SCROLL_PER_FRAME = 2.0f;
+
+	@Param({ "false", "true" })
+	public boolean isStatic;
+
+	@Param({ "false", "true" })
+	public boolean isQueueingDraws;
+
+	private Kernel kernel;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		kernel = start(isStatic, isQueueingDraws);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		kernel.dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FRAMES)
+	public void frame() {
+		for (int i = 0; i < FRAMES; i++) {
+			kernel.render();
+		}
+	}
+
+	/**
+	 * Draws the landscapes, scrolling them a little further each frame and wrapping around at the end.
+	 */
+	private static class LandscapeState extends State {
+
+		private final boolean isStatic;
+		private Camera camera;
+		private Texture texture;
+		private LandscapeRenderer[] renderers;
+		private float x;
+		private float maxX;
+
+		LandscapeState(boolean isStatic) {
+			this.isStatic = isStatic;
+		}
+
+		@Override
+		public void enter() {
+			camera = Kernel.cameras.create("landscape", 640, 360);
+			texture = new Texture(new Pixmap(64, 64, Pixmap.Format.RGBA8888));
+			World world = new World();
+			renderers = new LandscapeRenderer[World.NUM_LAYERS];
+			for (int i = 0; i < renderers.length; i++) {
+				renderers[i] = new LandscapeRenderer(world.landscapes()[i], texture, Color.WHITE, isStatic);
+			}
+			maxX = 900 * 64;
+		}
+
+		@Override
+		public void exit() {
+			for (LandscapeRenderer renderer : renderers) {
+				renderer.dispose();
+			}
+			texture.dispose();
+			camera.dispose();
+		}
+
+		@Override
+		public void draw() {
+			camera.activate();
+			x = (x + SCROLL_PER_FRAME) % maxX;
+			for (int i = 0, n = 1 << (renderers.length - 1); i < renderers.length; i++, n >>= 1) {
+				camera.moveTo(x / n, 0);
+				renderers[i].draw(camera);
+			}
+		}
+	}
+
+	private static Kernel start(boolean isStatic, boolean isQueueingDraws) {
+		Headless.start(HeadlessDriver.DELTA);
+		final State state = new LandscapeState(isStatic);
+		Kernel kernel = new Kernel(new StateSelector() {
+			@Override
+			public State select() {
+				return state;
+			}
+		});
+		kernel.setRenderQueue(isQueueingDraws);
+		kernel.create();
+		kernel.resize(Headless.WIDTH, Headless.HEIGHT);
+		return kernel;
+	}
+
+	/**
+	 * Draws the landscapes each way for the given number of frames, 10000 by default, and reports the mean time per
+	 * frame, how many bytes of vertices were copied into the batch in the last one and how many render calls it took.
+	 *
+	 * @param args the number of frames.
+	 */
+	public static void main(String[] args) {
+		int frames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		for (int mode = 0; mode < 4; mode++) {
+			boolean isStatic = (mode & 1) != 0;
+			boolean isQueueingDraws = (mode & 2) != 0;
+			Kernel kernel = start(isStatic, isQueueingDraws);
+			for (int i = 0; i < FRAMES; i++) {
+				kernel.render();
+			}
+			long start = System.nanoTime();
+			for (int i = 0; i < frames; i++) {
+				kernel.render();
+			}
+			long elapsed = System.nanoTime() - start;
+			System.out.printf("%-13s %-6s %6.2f us/frame, %5d vertex bytes/frame, %d render calls%n",
+					isStatic ? "static meshes" : "batch", isQueueingDraws ? "queued" : "direct", elapsed / 1e3 / frames,
+					Kernel.renderQueue.vertexBytes(), Kernel.batch.renderCalls);
+			kernel.dispose();
+		}
+		Gdx.app.exit();
+	}
+}
@@ -0,0 +1,56 @@
+package ldtk.bench;
+
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * A GL20 that does nothing, so that SpriteBatch, Texture and friends can run on a machine without a GPU. It hands
+ * out non-zero handles and reports that every shader compiles and every program links.
+ */
+final class NoopGL implements Stubs.Answer {
+
+	private int nextHandle = 1;
+
+	private NoopGL() {
+	}
+
+	/**
+	 * Creates a no-op GL20.
+	 * 
+	 * @return the GL.
+	 */
+	static GL20 create() {
+		return Stubs.create(new NoopGL(), GL20.class);
+	}
+
+	@Override
+	public Object answer(String name, Object[] args) {
+		if (name.startsWith("glGen") || name.startsWith("glCreate")) {
+			if (args != null && args.length == 2 && args[1] instanceof IntBuffer) {
+				IntBuffer handles = (IntBuffer) args[1];
+				for (int i = 0; i < (Integer) args[0]; i++) {
+					handles.put(handles.position() + i, nextHandle++);
+				}
+				return Stubs.DEFAULT;
+			}
+			return nextHandle++;
+		}
+		if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+			int pname = (Integer) args[1];
+			IntBuffer params = (IntBuffer) args[2];
+			boolean isStatus = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+			params.put(params.position(), isStatus ? 1 : 0);
+			return Stubs.DEFAULT;
+		}
+		if (name.equals("glGetIntegerv")) {
+			IntBuffer params = (IntBuffer) args[1];
+			params.put(params.position(), 4096);
+			return Stubs.DEFAULT;
+		}
+		if (name.endsWith("InfoLog")) {
+			return "";
+		}
+		return Stubs.DEFAULT;
+	}
+}
@@ -0,0 +1,99 @@
+package ldtk.bench;
+
+import com.badlogic.gdx.Input;
+
+/**
+ * An Input whose keys and touches are set by a script rather than by a user.
+ */
+public final class ScriptedInput implements Stubs.Answer {
+
+	private static final int MAX_KEYS = 256;
+
+	private final boolean[] keys;
+	private final Input input;
+	private boolean isTouched;
+	private boolean isJustTouched;
+	private int touchX;
+	private int touchY;
+
+	ScriptedInput() {
+		keys = new boolean[MAX_KEYS];
+		input = Stubs.create(this, Input.class);
+	}
+
+	/**
+	 * Returns the Input that reflects this script, for use as Gdx.input.
+	 * 
+	 * @return the input.
+	 */
+	public Input input() {
+		return input;
+	}
+
+	/**
+	 * Presses or releases a key.
+	 * 
+	 * @param key the key, eg, Keys.SPACE.
+	 * @param isPressed true to press the key, false to release it.
+	 */
+	public void setKey(int key, boolean isPressed) {
+		keys[key] = isPressed;
+	}
+
+	/**
+	 * Touches the screen at the given point, in screen coordinates.
+	 * 
+	 * @param x the x coordinate.
+	 * @param y the y coordinate.
+	 */
+	public void touch(int x, int y) {
+		isJustTouched = !isTouched;
+		isTouched = true;
+		touchX = x;
+		touchY = y;
+	}
+
+	/**
+	 * Releases all keys and touches.
+	 */
+	public void releaseAll() {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = false;
+		}
+		isTouched = false;
+		isJustTouched = false;
+	}
+
+	/**
+	 * Called at the end of each tick so that justTouched() only reports a touch once.
+	 */
+	public void endTick() {
+		isJustTouched = false;
+	}
+
+	@Override
+	public Object answer(String name, Object[] args) {
+		if (name.equals("isKeyPressed")) {
+			int key = (Integer) args[0];
+			return key == Input.Keys.ANY_KEY ? isAnyKeyPressed() : key >= 0 && key < keys.length && keys[key];
+		} else if (name.equals("isTouched") || name.equals("isButtonPressed")) {
+			return isTouched;
+		} else if (name.equals("justTouched")) {
+			return isJustTouched;
+		} else if (name.equals("getX")) {
+			return touchX;
+		} else if (name.equals("getY")) {
+			return touchY;
+		}
+		return Stubs.DEFAULT;
+	}
+
+	private boolean isAnyKeyPressed() {
+		for (boolean isPressed : keys) {
+			if (isPressed) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
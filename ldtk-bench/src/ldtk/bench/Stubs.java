@@ -0,0 +1,91 @@
+package ldtk.bench;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates stand-ins for the large libGDX interfaces, such as GL20 and Input, where only a handful of methods matter
+ * to a benchmark. Every method that an Answer doesn't handle does nothing and returns 0, false or null.
+ */
+final class Stubs {
+
+	/**
+	 * Returned by an Answer to say that the method should get the default behaviour.
+	 */
+	static final Object DEFAULT = new Object();
+
+	/**
+	 * Answers the methods that a stub cares about.
+	 */
+	interface Answer {
+		/**
+		 * Answers a call to the stub.
+		 * 
+		 * @param name the method's name.
+		 * @param args the method's arguments, or null if it has none.
+		 * @return the method's result, or DEFAULT.
+		 */
+		Object answer(String name, Object[] args);
+	}
+
+	private Stubs() {
+	}
+
+	/**
+	 * Creates a stub that implements the given interfaces.
+	 * 
+	 * @param answer answers the methods that the stub cares about.
+	 * @param types the interfaces, the first of which is the type returned.
+	 * @return the stub.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T create(final Answer answer, Class<T> type, Class<?>... otherTypes) {
+		Class<?>[] types = new Class<?>[otherTypes.length + 1];
+		types[0] = type;
+		System.arraycopy(otherTypes, 0, types, 1, otherTypes.length);
+		return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), types, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if (method.getDeclaringClass() == Object.class) {
+					return objectMethod(proxy, method, args);
+				}
+				Object result = answer.answer(method.getName(), args);
+				return result != DEFAULT ? result : defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private static Object objectMethod(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.equals("equals")) {
+			return proxy == args[0];
+		} else if (name.equals("hashCode")) {
+			return System.identityHashCode(proxy);
+		} else {
+			return "Stub@" + Integer.toHexString(System.identityHashCode(proxy));
+		}
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == void.class) {
+			return null;
+		} else if (type == boolean.class) {
+			return false;
+		} else if (type == int.class) {
+			return 0;
+		} else if (type == long.class) {
+			return 0L;
+		} else if (type == float.class) {
+			return 0.0f;
+		} else if (type == double.class) {
+			return 0.0;
+		} else if (type == short.class) {
+			return (short) 0;
+		} else if (type == byte.class) {
+			return (byte) 0;
+		} else {
+			return '\0';
+		}
+	}
+}
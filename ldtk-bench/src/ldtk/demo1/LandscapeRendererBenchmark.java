@@ -0,0 +1,45 @@
+package ldtk.demo1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Measures building the vertices of a landscape's lower and upper strips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LandscapeRendererBenchmark {
+
+	private Landscape landscape;
+
+	@Setup
+	public void setUp() {
+		landscape = new Landscape();
+	}
+
+	@Benchmark
+	public float[] createLowerLandscapeAppearance() {
+		return LandscapeRenderer.createLowerLandscapeAppearance(landscape.lower(), Color.WHITE);
+	}
+
+	@Benchmark
+	public float[] createUpperLandscapeAppearance() {
+		return LandscapeRenderer.createUpperLandscapeAppearance(landscape.upper(), Color.WHITE);
+	}
+}
@@ -0,0 +1,76 @@
+package ldtk.demo1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Measures collision tests between a player-sized box and the foreground landscape, both brute force through Polys
+ * and with the bounds-based culling in LandscapePolys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PolysBenchmark {
+
+	private static final float TILE_WIDTH = 64;
+	private static final float BOTTOM = -180;
+	private static final float TOP = 180;
+	private static final int PROBES = 64;
+
+	private LandscapePolys lower;
+	private LandscapePolys upper;
+	private Polygon[][] probes;
+	private Rectangle[] probeBounds;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Landscape landscape = new Landscape();
+		lower = LandscapePolys.createLowerGeometry(landscape.lower(), TILE_WIDTH, BOTTOM);
+		upper = LandscapePolys.createLowerGeometry(landscape.upper(), TILE_WIDTH, TOP);
+
+		// Spread the probes across the landscape and up and down the screen so that some hit and some miss.
+		probes = new Polygon[PROBES][];
+		probeBounds = new Rectangle[PROBES];
+		float landscapeWidth = (landscape.lower().length - 1) * TILE_WIDTH;
+		for (int i = 0; i < PROBES; i++) {
+			Polygon probe = new Polygon(new float[] { -15, 22.5f, -15, -22.5f, 15, -22.5f, 15, 22.5f });
+			probe.setPosition(landscapeWidth * i / PROBES, BOTTOM + (TOP - BOTTOM) * (i % 8) / 8);
+			probes[i] = new Polygon[] { probe };
+			probeBounds[i] = new Rectangle(Polys.bounds(probes[i]));
+		}
+	}
+
+	@Benchmark
+	public boolean polysHitAny() {
+		int i = nextProbe();
+		return Polys.hitAny(probes[i], lower.polys()) || Polys.hitAny(probes[i], upper.polys());
+	}
+
+	@Benchmark
+	public boolean landscapePolysHitAny() {
+		int i = nextProbe();
+		return lower.hitAny(probes[i], probeBounds[i]) || upper.hitAny(probes[i], probeBounds[i]);
+	}
+
+	private int nextProbe() {
+		next = (next + 1) % PROBES;
+		return next;
+	}
+}
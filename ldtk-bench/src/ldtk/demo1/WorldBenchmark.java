@@ -0,0 +1,60 @@
+package ldtk.demo1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ldtk.Kernel;
+import ldtk.Time;
+import ldtk.bench.Headless;
+import ldtk.bench.ScriptedInput;
+
+import com.badlogic.gdx.Input.Keys;
+
+/**
+ * Measures a single World.update() with the player holding fire and moving right, so that shots are spawned, moved,
+ * collided and retired as they would be in play.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+	private static final float DELTA = 1 / 60f;
+
+	private World world;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		ScriptedInput input = Headless.start(DELTA);
+		input.setKey(Keys.SPACE, true);
+		input.setKey(Keys.RIGHT, true);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		Kernel.time = new Time();
+		Kernel.time.delta = DELTA;
+		world = new World();
+	}
+
+	@Benchmark
+	public World update() {
+		Kernel.time.time += DELTA;
+		world.update();
+		return world;
+	}
+}
@@ -20,6 +20,9 @@ public class Demo1Activity extends AndroidApplication {
 		// states, then start it all through initialize() just as you would any other LibGDX Android game.
 		StateSelector gameStateSelector = new App();
 		Kernel kernel = new Kernel(gameStateSelector);
+		kernel.setFixedTimestep(1 / 60f, 5);
+		kernel.setReleaseAssetsOnPause(true);
+		kernel.setRenderQueue(true);
 		initialize(kernel, cfg);
     }
 }
\ No newline at end of file
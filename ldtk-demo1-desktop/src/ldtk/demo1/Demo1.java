@@ -19,6 +19,8 @@ public class Demo1 {
 		// states, then start it all through LwglApplication just as you would any other LibGDX desktop game.
 		StateSelector gameStateSelector = new App();
 		Kernel kernel = new Kernel(gameStateSelector);
+		kernel.setFixedTimestep(1 / 60f, 5);
+		kernel.setRenderQueue(true);
 		new LwjglApplication(kernel, cfg);
 	}
 }
@@ -7,11 +7,13 @@ public class App implements StateSelector {
 
 	private Playing playing;
 	private Menu menu;
+	private Paused paused;
 	private State state;
 
 	public App() {
 		playing = new Playing(this);
 		menu = new Menu(this);
+		paused = new Paused(this);
 		state = menu;
 	}
 
@@ -21,14 +23,20 @@ public class App implements StateSelector {
 	}
 	
 	public void requestPlaying() {
-		if (state == menu) {
+		if (state == menu || state == paused) {
 			state = playing;
 		}
 	}
 	
 	public void requestMenu() {
-		if (state == playing) {
+		if (state == playing || state == paused) {
 			state = menu;
 		}
 	}
+
+	public void requestPaused() {
+		if (state == playing) {
+			state = paused;
+		}
+	}
 }
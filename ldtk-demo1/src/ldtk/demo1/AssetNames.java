@@ -0,0 +1,47 @@
+package ldtk.demo1;
+
+/**
+ * The names of all assets. Generated by ldtk.AssetConstants, do not edit.
+ */
+public final class AssetNames {
+	public static final class Images {
+		public static final String ATLASES_PACK_8X8 = "atlases/pack/8x8";
+		public static final String ATLASES_PACK_BIG_BAD_GUY1 = "atlases/pack/BigBadGuy1";
+		public static final String ATLASES_PACK_BIG_BAD_GUY2 = "atlases/pack/BigBadGuy2";
+		public static final String ATLASES_PACK_HERO_LEFT1 = "atlases/pack/HeroLeft1";
+		public static final String ATLASES_PACK_HERO_LEFT2 = "atlases/pack/HeroLeft2";
+		public static final String ATLASES_PACK_HERO_RIGHT1 = "atlases/pack/HeroRight1";
+		public static final String ATLASES_PACK_HERO_RIGHT2 = "atlases/pack/HeroRight2";
+		public static final String ATLASES_PACK_PLAYER_SHOT01 = "atlases/pack/PlayerShot01";
+		public static final String ATLASES_PACK_ROBOT_LEFT0 = "atlases/pack/RobotLeft0";
+		public static final String ATLASES_PACK_ROBOT_LEFT1 = "atlases/pack/RobotLeft1";
+		public static final String ATLASES_PACK_ROBOT_LEFT2 = "atlases/pack/RobotLeft2";
+		public static final String ATLASES_PACK_ROBOT_LEFT3 = "atlases/pack/RobotLeft3";
+		public static final String ATLASES_PACK_ROBOT_RIGHT0 = "atlases/pack/RobotRight0";
+		public static final String ATLASES_PACK_ROBOT_RIGHT1 = "atlases/pack/RobotRight1";
+		public static final String ATLASES_PACK_ROBOT_RIGHT2 = "atlases/pack/RobotRight2";
+		public static final String ATLASES_PACK_ROBOT_RIGHT3 = "atlases/pack/RobotRight3";
+		public static final String ATLASES_PACK_ROBOT_SCAN0 = "atlases/pack/RobotScan0";
+		public static final String ATLASES_PACK_ROBOT_SCAN1 = "atlases/pack/RobotScan1";
+		public static final String ATLASES_PACK_ROBOT_SCAN2 = "atlases/pack/RobotScan2";
+		public static final String ATLASES_PACK_ROBOT_SCAN3 = "atlases/pack/RobotScan3";
+		public static final String ATLASES_PACK_ROBOT_SHOT01 = "atlases/pack/RobotShot01";
+		public static final String ATLASES_PACK_SKELETON_LEFT1 = "atlases/pack/SkeletonLeft1";
+		public static final String ATLASES_PACK_SKELETON_RIGHT1 = "atlases/pack/SkeletonRight1";
+		public static final String ATLASES_PACK_PAUSE = "atlases/pack/pause";
+		public static final String TEXTURES_BUILDING = "textures/building";
+		public static final String TEXTURES_GRASS = "textures/grass";
+		public static final String TEXTURES_STONES = "textures/stones";
+	}
+
+	public static final class Fonts {
+		public static final String FONTS_CONSOLAS32 = "fonts/consolas32";
+	}
+
+	public static final class Sounds {
+		public static final String SOUNDS_PICKUP = "sounds/pickup";
+	}
+
+	public static final class Tunes {
+	}
+}
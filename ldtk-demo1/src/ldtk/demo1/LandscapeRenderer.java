@@ -2,6 +2,8 @@ package ldtk.demo1;
 
 import ldtk.Kernel;
 import ldtk.Camera;
+import ldtk.StaticMesh;
+import ldtk.StripIndex;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
@@ -17,14 +19,44 @@ public class LandscapeRenderer {
 	private Texture texture;
 	private float[] lowerVertices;
 	private float[] upperVertices;
+	private StripIndex lowerIndex;
+	private StripIndex upperIndex;
+	private StaticMesh lowerMesh;
+	private StaticMesh upperMesh;
 
+	/**
+	 * Creates a landscape renderer that uses static meshes if the render queue is enabled, and copies into the batch
+	 * otherwise. Static meshes copy no vertices, but each draw flushes the batch and switches shaders, which only pays
+	 * off when the queue draws them together. Without it, copying into the batch is over twice as fast.
+	 */
 	public LandscapeRenderer(Landscape landscape, Texture texture, Color color) {
+		this(landscape, texture, color, Kernel.renderQueue.isEnabled());
+	}
+
+	/**
+	 * Creates a landscape renderer that either keeps the landscape in static meshes on the GPU, or copies the visible
+	 * part of it into the batch every frame.
+	 */
+	public LandscapeRenderer(Landscape landscape, Texture texture, Color color, boolean isStatic) {
 		lowerVertices = createLowerLandscapeAppearance(landscape.lower(), color);
 		upperVertices = createUpperLandscapeAppearance(landscape.upper(), color);
 		this.texture = texture;
+		lowerIndex = new StripIndex(lowerVertices);
+		upperIndex = new StripIndex(upperVertices);
+		if (isStatic) {
+			lowerMesh = new StaticMesh(texture, lowerVertices);
+			upperMesh = new StaticMesh(texture, upperVertices);
+		}
+	}
+
+	public void dispose() {
+		if (lowerMesh != null) {
+			lowerMesh.dispose();
+			upperMesh.dispose();
+		}
 	}
 	
-	private float[] createLowerLandscapeAppearance(float[] heights, Color color) {
+	static float[] createLowerLandscapeAppearance(float[] heights, Color color) {
 		// Points are defined anti-clockwise from top left.
 		// Each point is: x, y, colour, u, v.
 		float colorBits = color.toFloatBits();
@@ -62,7 +94,7 @@ public class LandscapeRenderer {
 		return landscape;
 	}
 	
-	private float[] createUpperLandscapeAppearance(float[] heights, Color color) {
+	static float[] createUpperLandscapeAppearance(float[] heights, Color color) {
 		// Points are defined anti-clockwise from top left.
 		// Each point is: x, y, colour, u, v.
 		float colorBits = color.toFloatBits();
@@ -101,30 +133,19 @@ public class LandscapeRenderer {
 	}
 
 	public void draw(Camera cam) {
-		float left = cam.x() - cam.width() / 2;
-		float right = cam.x() + cam.width() / 2;
-		
-		// Go right until we find the first visible strip of landscape.
-		int start;
-		for (start = 0; start < lowerVertices.length; start += VERTS_PER_QUAD) {
-			if (lowerVertices[start + 15] >= left) {
-				break;
-			}
-		}
-		
-		// Go right from that point until we find the first non visible strip of landscape.
-		int end;
-		for (end = start; end < lowerVertices.length; end += VERTS_PER_QUAD) {
-			if (lowerVertices[end] >= right) {
-				break;
-			}
-		}
-		
-		// Figure out how many strips we need to draw.
-		int count = end - start;
-		
+		// Find the visible strips of each part of the landscape, which needn't line up with each other.
+		lowerIndex.find(cam);
+		upperIndex.find(cam);
+
 		// Finally, draw the landscape.
-		Kernel.batch.draw(texture, lowerVertices, start, count);
-		Kernel.batch.draw(texture, upperVertices, start, count);	// Assumption!!!
+		if (lowerMesh != null) {
+			lowerMesh.draw(lowerIndex.first(), lowerIndex.count());
+			upperMesh.draw(upperIndex.first(), upperIndex.count());
+		} else {
+			Kernel.renderQueue.draw(texture, lowerVertices, lowerIndex.first() * VERTS_PER_QUAD, lowerIndex.count()
+					* VERTS_PER_QUAD);
+			Kernel.renderQueue.draw(texture, upperVertices, upperIndex.first() * VERTS_PER_QUAD, upperIndex.count()
+					* VERTS_PER_QUAD);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@ import ldtk.State;
 public class Menu extends State {
 
 	private final App app;
+	private final StringBuilder loading = new StringBuilder();
 	private Camera guiCam;
 	private Font font;
 	private boolean isSpacePressed;
@@ -24,10 +25,18 @@ public class Menu extends State {
 		this.app = app;
 	}
 	
+	/**
+	 * The menu never changes unless there's input, so there's no need to redraw it continuously.
+	 */
+	@Override
+	public boolean isIdle() {
+		return true;
+	}
+
 	@Override
 	public void enter() {
-		guiCam = Kernel.cameras.create("guiCam");
-		font = Kernel.fonts.get("fonts/consolas32");
+		guiCam = Kernel.cameras.create("menuCam");
+		font = Kernel.fonts.get(AssetNames.Fonts.FONTS_CONSOLAS32);
 	}
 
 	@Override
@@ -72,5 +81,14 @@ public class Menu extends State {
 		String bottomRight = "bottom right";
 		bounds = font.bounds(bottomRight);
 		font.draw(bottomRight, guiCam.width() / 2 - bounds.width, -guiCam.height() / 2, Color.WHITE);
+
+		// Show progress while the kernel loads the assets for the next state.
+		if (Kernel.assets.isLoading()) {
+			// The percentage changes while loading, so build it in place rather than creating a string each frame.
+			loading.setLength(0);
+			Font.append(loading.append("Loading "), (int) (Kernel.assets.progress() * 100)).append('%');
+			bounds = font.bounds(loading);
+			font.draw(loading, -bounds.width / 2, -bounds.height * 2, Color.WHITE);
+		}
 	}
 }
\ No newline at end of file
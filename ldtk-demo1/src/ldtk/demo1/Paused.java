@@ -0,0 +1,97 @@
+package ldtk.demo1;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.math.Rectangle;
+
+import ldtk.Camera;
+import ldtk.Font;
+import ldtk.Kernel;
+import ldtk.State;
+
+/**
+ * The pause menu, shown when escape or back is pressed while playing. Resuming goes back to the game where it left
+ * off, and quitting goes back to the title menu, which ends the game.
+ */
+public class Paused extends State {
+
+	private final App app;
+	private Camera guiCam;
+	private Font font;
+	private boolean isSpacePressed;
+	private boolean isEscapePressed;
+	private boolean isBackPressed;
+
+	public Paused(App app) {
+		this.app = app;
+	}
+
+	/**
+	 * The pause menu is an overlay, so going to it from Playing suspends the game rather than tearing it down.
+	 */
+	@Override
+	public boolean isOverlay() {
+		return true;
+	}
+
+	/**
+	 * The pause menu never changes unless there's input, so there's no need to redraw it continuously.
+	 */
+	@Override
+	public boolean isIdle() {
+		return true;
+	}
+
+	@Override
+	public void enter() {
+		guiCam = Kernel.cameras.create("pausedCam");
+		font = Kernel.fonts.get(AssetNames.Fonts.FONTS_CONSOLAS32);
+		Gdx.input.setCatchBackKey(true);
+		isSpacePressed = false;
+		isEscapePressed = false;
+		isBackPressed = false;
+	}
+
+	@Override
+	public void exit() {
+		Gdx.input.setCatchBackKey(false);
+		guiCam.dispose();
+	}
+
+	@Override
+	public void update() {
+		boolean wasSpacePressed = isSpacePressed;
+		isSpacePressed = Gdx.input.isKeyPressed(Keys.SPACE);
+		if ((wasSpacePressed && !isSpacePressed) || Gdx.input.justTouched()) {
+			app.requestPlaying();
+			return;
+		}
+		boolean wasEscapePressed = isEscapePressed;
+		isEscapePressed = Gdx.input.isKeyPressed(Keys.ESCAPE);
+		boolean wasBackPressed = isBackPressed;
+		isBackPressed = Gdx.input.isKeyPressed(Keys.BACK);
+		if ((wasEscapePressed && !isEscapePressed) || (wasBackPressed && !isBackPressed)) {
+			app.requestMenu();
+		}
+	}
+
+	@Override
+	public void draw() {
+		Gdx.gl.glDisable(GL10.GL_SCISSOR_TEST);
+		Gdx.gl.glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
+		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
+
+		guiCam.activate();
+		String paused = "Paused";
+		Rectangle bounds = font.bounds(paused);
+		font.draw(paused, -bounds.width / 2, bounds.height / 2, Color.WHITE);
+		String hint = Gdx.app.getType() == ApplicationType.Android
+				? "Tap to resume, [back] to quit"
+				: "[space] to resume, [escape] to quit";
+		bounds = font.bounds(hint);
+		font.draw(hint, -bounds.width / 2, -bounds.height, Color.WHITE);
+	}
+}
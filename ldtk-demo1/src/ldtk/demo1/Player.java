@@ -1,10 +1,10 @@
 package ldtk.demo1;
 
-import ldtk.Camera;
 import ldtk.Kernel;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
@@ -27,12 +27,15 @@ class Player {
 	private World world;
 	private float playerX;
 	private float playerY;
+	private float previousX;
+	private float previousY;
 	private float mayFireTime;
 	private Polygon[] polys;
 	private boolean isBoundsDirty;
 	private Rectangle bounds;
 	private Vector3 initialTouchPoint;
 	private Vector3 currentTouchPoint;
+	private OrthographicCamera touchCam;
 
 	public Player(World world) {
 		this.world = world;
@@ -41,6 +44,8 @@ class Player {
 		bounds = new Rectangle();
 		createPolys();
 		updatePolys();
+		previousX = playerX;
+		previousY = y();
 		initialTouchPoint = new Vector3();
 		currentTouchPoint = new Vector3();
 	}
@@ -61,6 +66,10 @@ class Player {
 	}
 
 	public void update() {
+		// Relative to the landscape, which has already scrolled this tick, so that x(alpha) can add the scroll back.
+		previousX = playerX;
+		previousY = y();
+
 		float dx = 0;
 		float dy = 0;
 		
@@ -82,16 +91,14 @@ class Player {
 		if (Gdx.input.justTouched()) {
 			float touchX = Gdx.input.getX();
 			float touchY = Gdx.input.getY();
-			Camera guiCam = Kernel.cameras.get("guiCam");
 			initialTouchPoint.set(touchX, touchY, 0);
-			guiCam.camera().unproject(initialTouchPoint);
+			touchCam.unproject(initialTouchPoint);
 		}
 		else if (Gdx.input.isTouched()) {
 			float touchX = Gdx.input.getX();
 			float touchY = Gdx.input.getY();
-			Camera guiCam = Kernel.cameras.get("guiCam");
 			currentTouchPoint.set(touchX, touchY, 0);
-			guiCam.camera().unproject(currentTouchPoint);
+			touchCam.unproject(currentTouchPoint);
 			float diffX = currentTouchPoint.x - initialTouchPoint.x;
 			float diffY = currentTouchPoint.y - initialTouchPoint.y;
 			float angle = MathUtils.atan2(diffY, diffX);
@@ -126,6 +133,16 @@ class Player {
 		isBoundsDirty = true;
 	}
 	
+	/**
+	 * Sets the camera that touches are unprojected through. It is only read during update(), so it can be a copy of a
+	 * camera that is being drawn with.
+	 * 
+	 * @param touchCam the camera.
+	 */
+	public void setTouchCamera(OrthographicCamera touchCam) {
+		this.touchCam = touchCam;
+	}
+
 	public Polygon[] polys() {
 		return polys;
 	}
@@ -145,4 +162,26 @@ class Player {
 	public float y() {
 		return playerY;
 	}
+
+	/**
+	 * Returns the x coordinate interpolated between the previous tick and this one. The player's position relative to
+	 * the landscape and the landscape's scroll are interpolated separately, so that the player keeps pace with a camera
+	 * that follows the interpolated scroll.
+	 * 
+	 * @param alpha how far between the previous tick and this one, from 0 to 1.
+	 * @return the interpolated x coordinate.
+	 */
+	public float x(float alpha) {
+		return world.landscapeX(alpha) + previousX + (playerX - previousX) * alpha;
+	}
+
+	/**
+	 * Returns the y coordinate interpolated between the previous tick and this one.
+	 * 
+	 * @param alpha how far between the previous tick and this one, from 0 to 1.
+	 * @return the interpolated y coordinate.
+	 */
+	public float y(float alpha) {
+		return previousY + (y() - previousY) * alpha;
+	}
 }
@@ -1,5 +1,6 @@
 package ldtk.demo1;
 
+import ldtk.DoubleBuffer;
 import ldtk.Kernel;
 import ldtk.State;
 import ldtk.Camera;
@@ -8,16 +9,19 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 
 public class Playing extends State {
 
 	private final App app;
 	private Camera guiCam;
 	private Camera gameCam;
+	private OrthographicCamera touchCam;
 	private float virtualWidth;
 	private float virtualHeight;
 	private WorldRenderer worldRenderer;
 	private World world;
+	private DoubleBuffer<WorldSnapshot> snapshots;
 	private boolean isEscapePressed;
 	private boolean isBackPressed;
 
@@ -35,17 +39,37 @@ public class Playing extends State {
 		world = new World();
 		worldRenderer = new WorldRenderer(world, gameCam);
 		worldRenderer.setup();
-		Sound sound = Kernel.sounds.get("sounds/pickup");
+		snapshots = new DoubleBuffer<WorldSnapshot>(new WorldSnapshot(), new WorldSnapshot());
+
+		// The player unprojects touches through a copy of the GUI camera so that it never reads the GUI camera while
+		// it is being drawn with.
+		touchCam = new OrthographicCamera();
+		world.player().setTouchCamera(touchCam);
+		Sound sound = Kernel.sounds.get(AssetNames.Sounds.SOUNDS_PICKUP);
 		sound.play();
 	}
 
 	@Override
 	public void exit() {
 		Gdx.input.setCatchBackKey(false);
+		worldRenderer.dispose();
 		gameCam.dispose();
 		guiCam.dispose();
 	}
 
+	@Override
+	public void suspend() {
+		// Keep the world, its renderer and the cameras for when we're resumed.
+		Gdx.input.setCatchBackKey(false);
+	}
+
+	@Override
+	public void resume() {
+		Gdx.input.setCatchBackKey(true);
+		isEscapePressed = false;
+		isBackPressed = false;
+	}
+
 	@Override
 	public void update() {
 		boolean wasEscapePressed = isEscapePressed;
@@ -53,19 +77,30 @@ public class Playing extends State {
 		boolean wasBackPressed = isBackPressed;
 		isBackPressed = Gdx.input.isKeyPressed(Keys.BACK);
 		if ((wasEscapePressed && !isEscapePressed) || (wasBackPressed && !isBackPressed)) {
-			app.requestMenu();
+			app.requestPaused();
 			return;
 		}
 		world.update();
 	}
 
+	@Override
+	public void snapshot() {
+		world.snapshot(snapshots.back(), Kernel.time.alpha);
+	}
+
+	@Override
+	public void publish() {
+		snapshots.swap();
+		touchCam.invProjectionView.set(guiCam.camera().invProjectionView);
+	}
+
 	@Override
 	public void draw() {
 		Gdx.gl.glDisable(GL10.GL_SCISSOR_TEST);
 		Gdx.gl.glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
 		
-		worldRenderer.draw();
+		worldRenderer.draw(snapshots.front());
 		guiCam.activate();
 	}
 }
@@ -15,6 +15,8 @@ public class Shot {
 	private World world;
 	private float x;
 	private float y;
+	private float previousX;
+	private float previousY;
 	private float spread;
 	private boolean isActive;
 	private Polygon[] polys;
@@ -53,9 +55,14 @@ public class Shot {
 	public void moveTo(float x, float y) {
 		this.x = x - world.landscapeX();
 		this.y = y;
+		previousX = this.x;
+		previousY = y();
 	}
 	
 	public void update() {
+		// Relative to the landscape, as in Player, so that x(alpha) can add the interpolated scroll.
+		previousX = x;
+		previousY = y();
 		x += HORIZONTAL_SPEED * Kernel.time.delta;
 		y += spread * Kernel.time.delta;
 		updatePolys();
@@ -75,6 +82,14 @@ public class Shot {
 	public float y() {
 		return y;
 	}
+
+	public float x(float alpha) {
+		return world.landscapeX(alpha) + previousX + (x - previousX) * alpha;
+	}
+
+	public float y(float alpha) {
+		return previousY + (y() - previousY) * alpha;
+	}
 	
 	public boolean isActive() {
 		return isActive && x <= MAX_X;
@@ -24,6 +24,7 @@ public class World {
 	private Landscape[] landscapes;
 	private LandscapePolys[] landscapePolys;
 	private float landscapeX;
+	private float previousLandscapeX;
 	private Player player;
 	private List<Shot> shots;
 
@@ -55,6 +56,7 @@ public class World {
 	}
 
 	private void updateLandscape() {
+		previousLandscapeX = landscapeX;
 		landscapeX += SCROLL_SPEED * Kernel.time.delta;
 	}
 
@@ -107,6 +109,10 @@ public class World {
 	public float landscapeX() {
 		return this.landscapeX;
 	}
+
+	public float landscapeX(float alpha) {
+		return previousLandscapeX + (landscapeX - previousLandscapeX) * alpha;
+	}
 	
 	public Player player() {
 		return player;
@@ -116,6 +122,23 @@ public class World {
 		return shots;
 	}
 	
+	/**
+	 * Copies everything that is needed to draw the world into the given snapshot, interpolated between the previous
+	 * tick and this one.
+	 * 
+	 * @param snapshot the snapshot.
+	 * @param alpha how far between the previous tick and this one, from 0 to 1.
+	 */
+	void snapshot(WorldSnapshot snapshot, float alpha) {
+		snapshot.setLandscapeX(landscapeX(alpha));
+		snapshot.setPlayer(player.x(alpha), player.y(alpha));
+		snapshot.clearShots();
+		for (int i = 0, n = shots.size(); i < n; i++) {
+			Shot shot = shots.get(i);
+			snapshot.addShot(shot.x(alpha), shot.y(alpha));
+		}
+	}
+
 	public void addShot() {
 		Shot shot = new Shot(this);
 		shot.moveTo(player.x(), player.y());
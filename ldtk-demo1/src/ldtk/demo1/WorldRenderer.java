@@ -3,6 +3,7 @@ package ldtk.demo1;
 import ldtk.Kernel;
 import ldtk.Camera;
 import ldtk.Image;
+import ldtk.RenderQueue;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
@@ -12,6 +13,10 @@ public class WorldRenderer {
 
 	private static final float LERP = 1.0f;
 
+	// The render queue's layers, if it is enabled, so that the sprites stay between the midground and the foreground.
+	private static final int SPRITE_QUEUE_LAYER = World.MIDGROUND_LAYER + 1;
+	private static final int FOREGROUND_QUEUE_LAYER = SPRITE_QUEUE_LAYER + 1;
+
 	private World world;
 	private Texture backgroundTexture;
 	private Texture foregroundTexture;
@@ -19,6 +24,8 @@ public class WorldRenderer {
 	private LandscapeRenderer[] landscapeRenderers;
 	private Camera gameCam;
 	private float camX;
+	private int shotImage;
+	private int playerImage;
 
 
 	public WorldRenderer(World world, Camera gameCam) {
@@ -29,13 +36,17 @@ public class WorldRenderer {
 
 	public void setup() {
 		// Load the textures (CC0 licensed textures from http://opengameart.org) and make sure that they wrap.
-		backgroundTexture = Kernel.images.get("textures/stones").region().getTexture();
+		backgroundTexture = Kernel.images.get(AssetNames.Images.TEXTURES_STONES).region().getTexture();
 		backgroundTexture.setWrap(TextureWrap.Repeat, TextureWrap.Repeat);
-		midgroundTexture = Kernel.images.get("textures/building").region().getTexture();
+		midgroundTexture = Kernel.images.get(AssetNames.Images.TEXTURES_BUILDING).region().getTexture();
 		midgroundTexture.setWrap(TextureWrap.Repeat, TextureWrap.Repeat);
-		foregroundTexture = Kernel.images.get("textures/grass").region().getTexture();
+		foregroundTexture = Kernel.images.get(AssetNames.Images.TEXTURES_GRASS).region().getTexture();
 		foregroundTexture.setWrap(TextureWrap.Repeat, TextureWrap.Repeat);
 
+		// Resolve the sprites' handles now so that drawing them doesn't have to look them up by name every frame.
+		shotImage = Kernel.images.handle(AssetNames.Images.ATLASES_PACK_PLAYER_SHOT01);
+		playerImage = Kernel.images.handle(AssetNames.Images.ATLASES_PACK_ROBOT_SCAN1);
+
 		// Create the landscape renderers.
 		Landscape[] landscapes = world.landscapes();
 		landscapeRenderers = new LandscapeRenderer[landscapes.length];
@@ -47,30 +58,38 @@ public class WorldRenderer {
 				foregroundTexture, Color.WHITE);
 	}
 
-	public void draw() {
-		Image image = Kernel.images.get("atlases/png1/RobotScan3");
+	public void dispose() {
+		for (LandscapeRenderer landscapeRenderer : landscapeRenderers) {
+			landscapeRenderer.dispose();
+		}
+	}
+
+	public void draw(WorldSnapshot snapshot) {
 		gameCam.activate();
 
-		camX += (world.landscapeX() - camX) * LERP;
+		camX += (snapshot.landscapeX() - camX) * LERP;
 
 		for (int i = 0, n = 1 << (landscapeRenderers.length - 1); i < landscapeRenderers.length - 1; i++, n >>= 1) {
 			LandscapeRenderer landscapeRenderer = landscapeRenderers[i];
 			gameCam.moveTo(camX / n, 0);
+			Kernel.renderQueue.setLayer(i);
 			landscapeRenderer.draw(gameCam);
 		}
 
 		gameCam.moveTo(camX, 0);
-		image = Kernel.images.get("atlases/pack/PlayerShot01");
-		for (Shot shot : world.shots()) {
-			image.draw(shot.x(), shot.y());
+		Kernel.renderQueue.setLayer(SPRITE_QUEUE_LAYER);
+		Image image = Kernel.images.get(shotImage);
+		for (int i = 0, n = snapshot.shotCount(); i < n; i++) {
+			image.draw(snapshot.shotX(i), snapshot.shotY(i));
 		}
 
-		image = Kernel.images.get("atlases/pack/RobotScan1");
-		Player player = world.player();
-		image.draw(player.x(), player.y());
+		image = Kernel.images.get(playerImage);
+		image.draw(snapshot.playerX(), snapshot.playerY());
 
 		LandscapeRenderer landscapeRenderer = landscapeRenderers[World.FOREGROUND_LAYER];
 		gameCam.moveTo(camX, 0);
+		Kernel.renderQueue.setLayer(FOREGROUND_QUEUE_LAYER);
 		landscapeRenderer.draw(gameCam);
+		Kernel.renderQueue.setLayer(RenderQueue.DEFAULT_LAYER);
 	}
 }
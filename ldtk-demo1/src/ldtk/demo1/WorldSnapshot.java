@@ -0,0 +1,73 @@
+package ldtk.demo1;
+
+/**
+ * Everything that the WorldRenderer needs to draw a World, copied from it at the end of an update so that the world
+ * can carry on updating while the snapshot is drawn.
+ */
+class WorldSnapshot {
+
+	private static final int INITIAL_SHOTS = 64;
+
+	private float landscapeX;
+	private float playerX;
+	private float playerY;
+	private int shotCount;
+	private float[] shotXs;
+	private float[] shotYs;
+
+	public WorldSnapshot() {
+		shotXs = new float[INITIAL_SHOTS];
+		shotYs = new float[INITIAL_SHOTS];
+	}
+
+	void setLandscapeX(float landscapeX) {
+		this.landscapeX = landscapeX;
+	}
+
+	void setPlayer(float x, float y) {
+		playerX = x;
+		playerY = y;
+	}
+
+	void clearShots() {
+		shotCount = 0;
+	}
+
+	void addShot(float x, float y) {
+		if (shotCount == shotXs.length) {
+			float[] newXs = new float[shotCount * 2];
+			float[] newYs = new float[shotCount * 2];
+			System.arraycopy(shotXs, 0, newXs, 0, shotCount);
+			System.arraycopy(shotYs, 0, newYs, 0, shotCount);
+			shotXs = newXs;
+			shotYs = newYs;
+		}
+		shotXs[shotCount] = x;
+		shotYs[shotCount] = y;
+		shotCount++;
+	}
+
+	public float landscapeX() {
+		return landscapeX;
+	}
+
+	public float playerX() {
+		return playerX;
+	}
+
+	public float playerY() {
+		return playerY;
+	}
+
+	public int shotCount() {
+		return shotCount;
+	}
+
+	public float shotX(int i) {
+		return shotXs[i];
+	}
+
+	public float shotY(int i) {
+		return shotYs[i];
+	}
+}
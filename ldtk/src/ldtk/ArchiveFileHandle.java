@@ -0,0 +1,75 @@
+package ldtk;
+
+import java.io.File;
+import java.io.InputStream;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A handle to a file, or a directory, in an asset archive. Its path is the same as the loose file's, so assets loaded
+ * through it keep their names, and the files that it refers to, eg, an atlas's pages, come from the archive too if they
+ * are in it.
+ */
+class ArchiveFileHandle extends FileHandle {
+
+	private final AssetArchive archive;
+	private final boolean isDirectory;
+
+	ArchiveFileHandle(AssetArchive archive, String filename, boolean isDirectory) {
+		super(new File(filename), FileType.Internal);
+		this.archive = archive;
+		this.isDirectory = isDirectory;
+	}
+
+	@Override
+	public InputStream read() {
+		checkFile();
+		return archive.read(path());
+	}
+
+	@Override
+	public byte[] readBytes() {
+		// Read in one go at the known size, rather than through a growing buffer.
+		checkFile();
+		return archive.readBytes(path());
+	}
+
+	@Override
+	public long length() {
+		return isDirectory ? 0 : archive.length(path());
+	}
+
+	@Override
+	public boolean exists() {
+		return true;
+	}
+
+	@Override
+	public boolean isDirectory() {
+		return isDirectory;
+	}
+
+	@Override
+	public FileHandle child(String name) {
+		return archive.resolve(new File(file, name).getPath());
+	}
+
+	@Override
+	public FileHandle sibling(String name) {
+		return archive.resolve(new File(file.getParentFile(), name).getPath());
+	}
+
+	@Override
+	public FileHandle parent() {
+		File parent = file.getParentFile();
+		return new ArchiveFileHandle(archive, parent != null ? parent.getPath() : "", true);
+	}
+
+	private void checkFile() {
+		if (isDirectory) {
+			throw new GdxRuntimeException("Cannot read a directory: " + path());
+		}
+	}
+}
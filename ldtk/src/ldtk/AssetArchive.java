@@ -0,0 +1,467 @@
+package ldtk;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A single file holding the content of many assets, so that they can be loaded without opening each one separately,
+ * which is slow inside an APK or on a spinning disk. The file starts with an index giving each asset's path, type,
+ * offset and length, followed by the assets' content.
+ *
+ * On the desktop the archive is memory-mapped. Elsewhere only its index is kept in memory, and files are read through
+ * a single stream that only moves forward, so the archive doesn't hold on to the content of assets that aren't loaded
+ * or have been unloaded. Files are stored in the order that Assets queues them, so loading a path reads the archive
+ * in one sequential pass. The stream is only reopened when a file before its position is wanted, which matters
+ * because Android compresses the archive inside the APK, and skipping in a compressed asset inflates everything that
+ * is skipped. Assets reads any file that is in the archive from the archive, and anything else from the asset
+ * directory as usual, so loose files still work during development. Sounds and music are never archived, as Android
+ * can only play them from files of their own.
+ *
+ * The archive is generated at build time by running this class's main() method on the asset directory, after the
+ * manifest has been generated, so that the manifest is archived too.
+ */
+public class AssetArchive {
+
+	/**
+	 * The name of the archive file in the asset directory.
+	 */
+	public static final String FILENAME = "assets.archive";
+
+	private static final int MAGIC = 0x4c444152; // "LDAR"
+	private static final int VERSION = 1;
+	private static final String[] QUEUE_ORDER = { "atlases", "textures", "fonts" };
+
+	/**
+	 * A file in the archive.
+	 */
+	public static class Entry {
+		/** The file's path, relative to the asset directory, eg, "textures/grass.png". */
+		public final String path;
+		/** The file's type, which is the name of the directory it is in, eg, "textures". */
+		public final String type;
+		/** The offset of the file's content from the start of the archive. */
+		public final long offset;
+		/** The file's size in bytes. */
+		public final int length;
+
+		Entry(String path, String type, long offset, int length) {
+			this.path = path;
+			this.type = type;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	private final FileHandle file;
+	private final String basePath;
+	private final List<Entry> entries;
+	private final Map<String, Entry> entriesByPath;
+	private final ByteBuffer content;
+	private final long size;
+	private InputStream cursor;
+	private long cursorOffset;
+
+	private AssetArchive(FileHandle file, String basePath, List<Entry> entries, ByteBuffer content) {
+		this.file = file;
+		this.basePath = basePath;
+		this.entries = entries;
+		this.entriesByPath = new HashMap<String, Entry>();
+		for (Entry entry : entries) {
+			entriesByPath.put(entry.path, entry);
+		}
+		this.content = content;
+		long end = 0;
+		for (Entry entry : entries) {
+			end = Math.max(end, entry.offset + entry.length);
+		}
+		this.size = end;
+	}
+
+	/**
+	 * Opens an archive, reading its index. On the desktop the archive is memory-mapped, which costs address space but
+	 * no heap. Elsewhere nothing but the index is kept, and each file is read in turn from one forward-only stream,
+	 * which skips over anything in between. A copy of the whole archive would stay on the heap for as long as the
+	 * archive is open, alongside the assets decoded from it.
+	 *
+	 * @param file the archive file, eg, Gdx.files.internal("data/assets.archive").
+	 * @return the archive.
+	 */
+	public static AssetArchive open(FileHandle file) {
+		ByteBuffer content = Gdx.app.getType() == ApplicationType.Desktop ? map(file) : null;
+		String basePath = file.parent().path();
+		if (basePath.length() > 0) {
+			basePath += "/";
+		}
+		return new AssetArchive(file, basePath, readIndex(file), content);
+	}
+
+	/**
+	 * Returns every file in the archive.
+	 *
+	 * @return the entries, in the order that they are stored.
+	 */
+	public List<Entry> entries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Returns the file with the given path.
+	 *
+	 * @param path the path, relative to the asset directory, eg, "textures/grass.png".
+	 * @return the entry, or null if there is no such file in the archive.
+	 */
+	public Entry entry(String path) {
+		return entriesByPath.get(path);
+	}
+
+	/**
+	 * Returns true if the given file is in the archive.
+	 *
+	 * @param filename the filename, including the asset directory, eg, "data/textures/grass.png".
+	 * @return true if the file is in the archive.
+	 */
+	public boolean contains(String filename) {
+		filename = filename.replace('\\', '/');
+		return filename.startsWith(basePath) && entry(filename.substring(basePath.length())) != null;
+	}
+
+	/**
+	 * Returns a handle for reading the given file, from the archive if it is in it, or from the asset directory if not.
+	 *
+	 * @param filename the filename, including the asset directory, eg, "data/textures/grass.png".
+	 * @return the handle.
+	 */
+	public FileHandle resolve(String filename) {
+		return contains(filename) ? new ArchiveFileHandle(this, filename, false) : Gdx.files.internal(filename);
+	}
+
+	/**
+	 * Opens a stream over the content of the given file, which must be in the archive.
+	 */
+	InputStream read(String filename) {
+		if (content != null) {
+			return new ContentInputStream(content(entryFor(filename)));
+		}
+		// The file is read in full so that the cursor is free for the next one, however long this stream is kept.
+		return new ByteArrayInputStream(readBytes(filename));
+	}
+
+	/**
+	 * Returns the content of the given file, which must be in the archive.
+	 */
+	byte[] readBytes(String filename) {
+		Entry entry = entryFor(filename);
+		byte[] bytes = new byte[entry.length];
+		if (content != null) {
+			content(entry).get(bytes);
+			return bytes;
+		}
+		try {
+			readAtCursor(entry, bytes);
+			return bytes;
+		} catch (IOException e) {
+			closeCursor();
+			throw new GdxRuntimeException("Couldn't read " + filename + " from " + file, e);
+		}
+	}
+
+	/**
+	 * Reads a file's content through the cursor, reopening it only if the file is behind it. Synchronized as the asset
+	 * manager reads files on its own thread.
+	 */
+	private synchronized void readAtCursor(Entry entry, byte[] bytes) throws IOException {
+		if (cursor == null || entry.offset < cursorOffset) {
+			closeCursor();
+			cursor = file.read();
+			cursorOffset = 0;
+		}
+		skipFully(cursor, entry.offset - cursorOffset);
+		new DataInputStream(cursor).readFully(bytes);
+		cursorOffset = entry.offset + entry.length;
+		if (cursorOffset >= size) {
+			// Everything has been read, so there's nothing to gain by keeping the stream open.
+			closeCursor();
+		}
+	}
+
+	private synchronized void closeCursor() {
+		if (cursor != null) {
+			close(cursor);
+			cursor = null;
+		}
+	}
+
+	/**
+	 * Returns the size of the given file, which must be in the archive.
+	 */
+	int length(String filename) {
+		return entryFor(filename).length;
+	}
+
+	private Entry entryFor(String filename) {
+		return entry(filename.replace('\\', '/').substring(basePath.length()));
+	}
+
+	/**
+	 * Returns a view of the mapped content of the given file, which must not be modified.
+	 */
+	private ByteBuffer content(Entry entry) {
+		ByteBuffer view = content.duplicate();
+		view.position((int) entry.offset);
+		view.limit((int) entry.offset + entry.length);
+		return view.slice();
+	}
+
+	private static void skipFully(InputStream in, long count) throws IOException {
+		while (count > 0) {
+			long skipped = in.skip(count);
+			if (skipped <= 0) {
+				// Some streams won't skip, so read a byte to make progress or find the end.
+				if (in.read() == -1) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			count -= skipped;
+		}
+	}
+
+	private static void close(InputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			// Nothing more can be done.
+		}
+	}
+
+	/**
+	 * Creates an archive of every file under the given directory, except sounds, music and any existing archive.
+	 *
+	 * @param root the asset directory.
+	 * @param file the archive file.
+	 * @throws IOException if the archive can't be written.
+	 */
+	public static void write(File root, File file) throws IOException {
+		List<AssetManifest.Entry> files = new ArrayList<AssetManifest.Entry>();
+		for (AssetManifest.Entry entry : AssetManifest.create(root).entries()) {
+			String type = typeOf(entry.path);
+			if (!entry.path.equals(FILENAME) && !type.equals("sounds") && !type.equals("music")) {
+				files.add(entry);
+			}
+		}
+		// Store files in the order that Assets queues them, so that a path is loaded in one pass over the archive.
+		Collections.sort(files, new Comparator<AssetManifest.Entry>() {
+			@Override
+			public int compare(AssetManifest.Entry a, AssetManifest.Entry b) {
+				int order = basePathOf(a.path).compareTo(basePathOf(b.path));
+				if (order == 0) {
+					order = typeRank(a.path) - typeRank(b.path);
+				}
+				return order != 0 ? order : a.path.compareTo(b.path);
+			}
+		});
+		// The manifest isn't in its own entries, but it is needed to find everything else.
+		File manifestFile = new File(root, AssetManifest.FILENAME);
+		if (manifestFile.exists()) {
+			files.add(0, new AssetManifest.Entry(AssetManifest.FILENAME, manifestFile.length(), ""));
+		}
+
+		long indexSize = 4 + 2 + 4;
+		for (AssetManifest.Entry entry : files) {
+			indexSize += 2 + utf8(entry.path).length + 2 + utf8(typeOf(entry.path)).length + 8 + 4;
+		}
+
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+		try {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(files.size());
+			long offset = indexSize;
+			for (AssetManifest.Entry entry : files) {
+				writeString(out, entry.path);
+				writeString(out, typeOf(entry.path));
+				out.writeLong(offset);
+				out.writeInt((int) entry.size);
+				offset += entry.size;
+			}
+			byte[] buffer = new byte[8192];
+			for (AssetManifest.Entry entry : files) {
+				InputStream in = new FileInputStream(new File(root, entry.path));
+				try {
+					int count;
+					while ((count = in.read(buffer)) != -1) {
+						out.write(buffer, 0, count);
+					}
+				} finally {
+					in.close();
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes an archive of every file under the given asset directory into that directory. Run this whenever assets
+	 * are added, removed or changed, after generating the manifest, eg,
+	 * "java -cp ldtk/bin:ldtk/libs/gdx.jar ldtk.AssetArchive assets/data".
+	 *
+	 * @param args the asset directory.
+	 * @throws IOException if the archive can't be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: AssetArchive <asset directory>");
+			System.exit(1);
+		}
+		File root = new File(args[0]);
+		File file = new File(root, FILENAME);
+		write(root, file);
+		System.out.println("Wrote " + file + " (" + file.length() + " bytes)");
+	}
+
+	private static ByteBuffer map(FileHandle file) {
+		File mappable = file.file();
+		if (!mappable.isFile()) {
+			// Packaged in a jar, so it has to be read.
+			return null;
+		}
+		try {
+			RandomAccessFile in = new RandomAccessFile(mappable, "r");
+			try {
+				return in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length());
+			} finally {
+				// The mapping stays valid after the file is closed.
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't map " + file, e);
+		}
+	}
+
+	private static List<Entry> readIndex(FileHandle file) {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()));
+		try {
+			if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+				throw new GdxRuntimeException("Not an asset archive, or the wrong version: " + file);
+			}
+			int count = in.readInt();
+			List<Entry> entries = new ArrayList<Entry>(count);
+			for (int i = 0; i < count; i++) {
+				String path = readString(in);
+				String type = readString(in);
+				long offset = in.readLong();
+				int length = in.readInt();
+				entries.add(new Entry(path, type, offset, length));
+			}
+			return entries;
+		} catch (EOFException e) {
+			throw new GdxRuntimeException("Truncated asset archive: " + file, e);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't read " + file, e);
+		} finally {
+			close(in);
+		}
+	}
+
+	private static String basePathOf(String path) {
+		String dir = AssetManifest.dirOf(path);
+		return dir.substring(0, dir.lastIndexOf('/') + 1);
+	}
+
+	private static int typeRank(String path) {
+		String type = typeOf(path);
+		for (int i = 0; i < QUEUE_ORDER.length; i++) {
+			if (QUEUE_ORDER[i].equals(type)) {
+				return i;
+			}
+		}
+		return QUEUE_ORDER.length;
+	}
+
+	private static String typeOf(String path) {
+		String dir = AssetManifest.dirOf(path);
+		return dir.substring(dir.lastIndexOf('/') + 1);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readShort()];
+		in.readFully(bytes);
+		return new String(bytes, "UTF-8");
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes = utf8(s);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] utf8(String s) {
+		try {
+			return s.getBytes("UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	/**
+	 * A stream over the mapped content of a file in the archive.
+	 */
+	private static class ContentInputStream extends InputStream {
+		private final ByteBuffer content;
+
+		ContentInputStream(ByteBuffer content) {
+			this.content = content;
+		}
+
+		@Override
+		public int read() {
+			return content.hasRemaining() ? content.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (!content.hasRemaining()) {
+				return -1;
+			}
+			length = Math.min(length, content.remaining());
+			content.get(bytes, offset, length);
+			return length;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.min(n, content.remaining());
+			content.position(content.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return content.remaining();
+		}
+	}
+}
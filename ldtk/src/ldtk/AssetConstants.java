@@ -0,0 +1,138 @@
+package ldtk;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+
+/**
+ * Generates a Java class with a constant for the name of every image, font, sound and tune under an asset directory,
+ * so that a misspelt name is a compile error rather than a null at runtime. Pass the constants to handle() on
+ * Kernel.images and friends to get handles that can be looked up cheaply every frame.
+ */
+public class AssetConstants {
+
+	private final Set<String> images = new TreeSet<String>();
+	private final Set<String> fonts = new TreeSet<String>();
+	private final Set<String> sounds = new TreeSet<String>();
+	private final Set<String> tunes = new TreeSet<String>();
+
+	/**
+	 * Finds the names of all assets under the given directory.
+	 *
+	 * @param root the asset directory.
+	 */
+	public AssetConstants(File root) {
+		for (AssetManifest.Entry entry : AssetManifest.create(root).entries()) {
+			String dir = AssetManifest.dirOf(entry.path);
+			String type = dir.substring(dir.lastIndexOf('/') + 1);
+			if (type.equals("textures") && entry.path.endsWith(".png")) {
+				images.add(Assets.assetName("data/" + entry.path, ".png"));
+			} else if (type.equals("atlases") && entry.path.endsWith(".pack")) {
+				addAtlasRegions(root, entry.path);
+			} else if (type.equals("fonts") && entry.path.endsWith(".fnt")) {
+				fonts.add(Assets.assetName("data/" + entry.path, ".fnt"));
+			} else if (type.equals("sounds") && entry.path.endsWith(".ogg")) {
+				sounds.add(Assets.assetName("data/" + entry.path, ".ogg"));
+			} else if (type.equals("music") && entry.path.endsWith(".ogg")) {
+				tunes.add(Assets.assetName("data/" + entry.path, ".ogg"));
+			}
+		}
+	}
+
+	/**
+	 * Writes the constants as a Java class.
+	 *
+	 * @param file the Java source file.
+	 * @param className the fully qualified name of the class, eg, "ldtk.demo1.AssetNames".
+	 * @throws IOException if the class can't be written.
+	 */
+	public void write(File file, String className) throws IOException {
+		int dot = className.lastIndexOf('.');
+		PrintWriter writer = new PrintWriter(new FileWriter(file));
+		try {
+			if (dot >= 0) {
+				writer.println("package " + className.substring(0, dot) + ";");
+				writer.println();
+			}
+			writer.println("/**");
+			writer.println(" * The names of all assets. Generated by ldtk.AssetConstants, do not edit.");
+			writer.println(" */");
+			writer.println("public final class " + className.substring(dot + 1) + " {");
+			writeGroup(writer, "Images", images, false);
+			writeGroup(writer, "Fonts", fonts, true);
+			writeGroup(writer, "Sounds", sounds, true);
+			writeGroup(writer, "Tunes", tunes, true);
+			writer.println("}");
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Writes a class of asset name constants for the given asset directory. Run this whenever assets are added or
+	 * removed, eg, "java -cp ldtk/bin:ldtk/libs/gdx.jar ldtk.AssetConstants assets/data
+	 * src/ldtk/demo1/AssetNames.java ldtk.demo1.AssetNames".
+	 *
+	 * @param args the asset directory, the Java source file and the fully qualified class name.
+	 * @throws IOException if the class can't be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			System.err.println("Usage: AssetConstants <asset directory> <java file> <class name>");
+			System.exit(1);
+		}
+		new AssetConstants(new File(args[0])).write(new File(args[1]), args[2]);
+		System.out.println("Wrote " + args[2] + " to " + args[1]);
+	}
+
+	private void addAtlasRegions(File root, String path) {
+		FileHandle packFile = new FileHandle(new File(root, path));
+		TextureAtlasData atlas = new TextureAtlasData(packFile, packFile.parent(), false);
+		String atlasName = Assets.assetName("data/" + path, ".pack");
+		for (Region region : atlas.getRegions()) {
+			images.add(atlasName + "/" + region.name);
+		}
+	}
+
+	private static void writeGroup(PrintWriter writer, String groupName, Set<String> names, boolean isSpaced) {
+		if (isSpaced) {
+			writer.println();
+		}
+		writer.println("\tpublic static final class " + groupName + " {");
+		for (String name : names) {
+			writer.println("\t\tpublic static final String " + constantName(name) + " = \"" + name + "\";");
+		}
+		writer.println("\t}");
+	}
+
+	/**
+	 * Turns an asset name into a constant name, eg, "atlases/pack/PlayerShot01" becomes ATLASES_PACK_PLAYER_SHOT01.
+	 */
+	private static String constantName(String name) {
+		StringBuilder constant = new StringBuilder();
+		char previous = '_';
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!Character.isLetterOrDigit(c)) {
+				c = '_';
+			} else if (Character.isUpperCase(c) && Character.isLowerCase(previous)) {
+				constant.append('_');
+			}
+			if (c != '_' || previous != '_' || constant.length() == 0) {
+				constant.append(Character.toUpperCase(c));
+			}
+			previous = c;
+		}
+		if (Character.isDigit(constant.charAt(0))) {
+			constant.insert(0, '_');
+		}
+		return constant.toString();
+	}
+}
@@ -0,0 +1,267 @@
+package ldtk;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * An index of every file under an asset directory, with its size and a hash of its content, so that assets can be
+ * found without listing directories at runtime. Listing is slow on Android and doesn't work at all when the assets are
+ * packaged in a jar on the desktop.
+ *
+ * The manifest is a text file with one line per file, giving its size, its SHA-1 and its path relative to the asset
+ * directory, eg, "1234 3f786850e387550fdab836ed7e6dc881de23001b textures/grass.png". Lines starting with "#" are
+ * comments. It is generated at build time by running this class's main() method on the asset directory.
+ */
+public class AssetManifest {
+
+	/**
+	 * The name of the manifest file in the asset directory.
+	 */
+	public static final String FILENAME = "assets.manifest";
+
+	/**
+	 * A file in the manifest.
+	 */
+	public static class Entry {
+		/** The file's path, relative to the asset directory, eg, "textures/grass.png". */
+		public final String path;
+		/** The file's size in bytes. */
+		public final long size;
+		/** The SHA-1 of the file's content, in hex. */
+		public final String hash;
+
+		Entry(String path, long size, String hash) {
+			this.path = path;
+			this.size = size;
+			this.hash = hash;
+		}
+	}
+
+	private static final List<Entry> NO_ENTRIES = Collections.emptyList();
+
+	private final List<Entry> entries;
+	private final Map<String, List<Entry>> entriesByDir;
+	private final Map<String, Entry> entriesByPath;
+
+	private AssetManifest(List<Entry> entries) {
+		this.entries = entries;
+		this.entriesByDir = new HashMap<String, List<Entry>>();
+		this.entriesByPath = new HashMap<String, Entry>();
+		for (Entry entry : entries) {
+			String dir = dirOf(entry.path);
+			List<Entry> dirEntries = entriesByDir.get(dir);
+			if (dirEntries == null) {
+				dirEntries = new ArrayList<Entry>();
+				entriesByDir.put(dir, dirEntries);
+			}
+			dirEntries.add(entry);
+			entriesByPath.put(entry.path, entry);
+		}
+	}
+
+	/**
+	 * Reads a manifest.
+	 *
+	 * @param file the manifest file, eg, Gdx.files.internal("data/assets.manifest").
+	 * @return the manifest.
+	 */
+	public static AssetManifest read(FileHandle file) {
+		return read(file.reader("UTF-8"));
+	}
+
+	/**
+	 * Reads a manifest.
+	 *
+	 * @param reader where to read the manifest from. It is closed afterwards.
+	 * @return the manifest.
+	 */
+	public static AssetManifest read(Reader reader) {
+		List<Entry> entries = new ArrayList<Entry>();
+		BufferedReader lines = new BufferedReader(reader);
+		try {
+			String line;
+			while ((line = lines.readLine()) != null) {
+				line = line.trim();
+				if (line.length() == 0 || line.startsWith("#")) {
+					continue;
+				}
+				int sizeEnd = line.indexOf(' ');
+				int hashEnd = line.indexOf(' ', sizeEnd + 1);
+				if (sizeEnd < 0 || hashEnd < 0) {
+					throw new GdxRuntimeException("Bad line in asset manifest: " + line);
+				}
+				long size = Long.parseLong(line.substring(0, sizeEnd));
+				String hash = line.substring(sizeEnd + 1, hashEnd);
+				String path = line.substring(hashEnd + 1);
+				entries.add(new Entry(path, size, hash));
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't read asset manifest", e);
+		} finally {
+			try {
+				lines.close();
+			} catch (IOException e) {
+				// Nothing we can do about it.
+			}
+		}
+		return new AssetManifest(entries);
+	}
+
+	/**
+	 * Returns every file in the manifest.
+	 *
+	 * @return the entries, sorted by path.
+	 */
+	public List<Entry> entries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Returns the files in the given directory that have the given extension. Files in subdirectories are not
+	 * included.
+	 *
+	 * @param dir the directory, relative to the asset directory, eg, "level1/textures".
+	 * @param extension the extension, including the ".", eg, ".png".
+	 * @return the entries.
+	 */
+	public List<Entry> entries(String dir, String extension) {
+		List<Entry> dirEntries = entriesByDir.get(dir);
+		if (dirEntries == null) {
+			return NO_ENTRIES;
+		}
+		List<Entry> matches = new ArrayList<Entry>();
+		for (Entry entry : dirEntries) {
+			if (entry.path.endsWith(extension)) {
+				matches.add(entry);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the file with the given path.
+	 *
+	 * @param path the path, relative to the asset directory, eg, "textures/grass.png".
+	 * @return the entry, or null if there is no such file in the manifest.
+	 */
+	public Entry entry(String path) {
+		return entriesByPath.get(path);
+	}
+
+	/**
+	 * Creates a manifest of every file under the given directory.
+	 *
+	 * @param root the asset directory.
+	 * @return the manifest.
+	 */
+	public static AssetManifest create(File root) {
+		List<Entry> entries = new ArrayList<Entry>();
+		addEntries(root, "", entries);
+		return new AssetManifest(entries);
+	}
+
+	/**
+	 * Writes this manifest.
+	 *
+	 * @param file the manifest file.
+	 * @throws IOException if the manifest can't be written.
+	 */
+	public void write(File file) throws IOException {
+		PrintWriter writer = new PrintWriter(new FileWriter(file));
+		try {
+			writer.println("# size sha1 path - generated by ldtk.AssetManifest, do not edit.");
+			for (Entry entry : entries) {
+				writer.println(entry.size + " " + entry.hash + " " + entry.path);
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Writes a manifest of every file under the given asset directory into that directory. Run this whenever assets
+	 * are added, removed or changed, eg, "java -cp ldtk/bin:ldtk/libs/gdx.jar ldtk.AssetManifest assets/data".
+	 *
+	 * @param args the asset directory.
+	 * @throws IOException if the manifest can't be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: AssetManifest <asset directory>");
+			System.exit(1);
+		}
+		File root = new File(args[0]);
+		AssetManifest manifest = create(root);
+		manifest.write(new File(root, FILENAME));
+		System.out.println("Wrote " + manifest.entries.size() + " entries to " + new File(root, FILENAME));
+	}
+
+	private static void addEntries(File dir, String prefix, List<Entry> entries) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			throw new GdxRuntimeException("Not a directory: " + dir);
+		}
+		List<File> sorted = new ArrayList<File>();
+		Collections.addAll(sorted, files);
+		Collections.sort(sorted);
+		for (File file : sorted) {
+			String path = prefix + file.getName();
+			if (file.isDirectory()) {
+				addEntries(file, path + "/", entries);
+			} else if (!path.equals(FILENAME) && !path.equals(AssetArchive.FILENAME) && !file.isHidden()) {
+				entries.add(new Entry(path, file.length(), hash(file)));
+			}
+		}
+	}
+
+	private static String hash(File file) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			InputStream in = new FileInputStream(file);
+			try {
+				byte[] buffer = new byte[8192];
+				int count;
+				while ((count = in.read(buffer)) != -1) {
+					digest.update(buffer, 0, count);
+				}
+			} finally {
+				in.close();
+			}
+			return toHex(digest.digest());
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't hash " + file, e);
+		} catch (NoSuchAlgorithmException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+			hex.append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	static String dirOf(String path) {
+		int slash = path.lastIndexOf('/');
+		return slash >= 0 ? path.substring(0, slash) : "";
+	}
+}
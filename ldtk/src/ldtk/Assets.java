@@ -1,15 +1,26 @@
 package ldtk;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -18,6 +29,9 @@ import com.badlogic.gdx.utils.Array;
 public class Assets {
 
 	private static final String TAG = "Assets";
+	private static final float NANOS_PER_MILLI = 1000000.0f;
+	private static final long MIN_UPLOAD_LIMIT = 64 * 1024;
+	private static final float SLOW_FRAME_TOLERANCE = 1.1f;
 	
 	public static final String DEFAULT_PATH = "";
 
@@ -26,6 +40,37 @@ public class Assets {
 	private Fonts fonts;
 	private Sounds sounds;
 	private Tunes tunes;
+	private Set<String> loadedPaths;
+	private List<PathGroup> queuedGroups;
+	private AssetManifest manifest;
+	private boolean isManifestRead;
+	private AssetArchive archive;
+	private boolean isArchiveOpened;
+	private List<PendingAsset> pendingAssets;
+	private Map<String, Float> loadTimes;
+	private Map<String, Float> loadTimesByType;
+	private long unattributedNanos;
+	private int lastLoadedAssets;
+	private Map<String, Integer> referenceCounts;
+	private Set<String> unusedPaths;
+	private Map<String, Long> pathBytes;
+	private long memoryUsed;
+	private long memoryBudget = Long.MAX_VALUE;
+	private boolean isLazy;
+	private Thread lazyThread;
+	private Set<String> requestedFilenames;
+	private int packPageSize;
+	private Set<String> unpackedImages;
+	private Map<String, PackedGroup> packedGroups;
+	private Set<String> packedFilenames;
+	private Variants variants;
+	private SharedAssets sharedAssets;
+	private CountingTextureLoader textureLoader;
+	private long packedUploadBytes;
+	private int packedUploadTextures;
+	private long maxUploadBytes;
+	private long uploadLimit;
+	private float targetFrameSeconds;
 
 	/**
 	 * Creates the Assets object, telling it where to store loaded assets.
@@ -42,7 +87,31 @@ public class Assets {
 		this.fonts = fonts;
 		this.sounds = sounds;
 		this.tunes = tunes;
-		assetManager = new AssetManager();
+		FileHandleResolver resolver = new FileHandleResolver() {
+			@Override
+			public FileHandle resolve(String fileName) {
+				return Assets.this.resolve(fileName);
+			}
+		};
+		assetManager = new AssetManager(resolver);
+		assetManager.setLoader(BitmapFont.class, BinaryFont.EXTENSION, new BinaryFontLoader(resolver));
+		assetManager.setLoader(BitmapFontData.class, new FontDataLoader(resolver));
+		textureLoader = new CountingTextureLoader(resolver);
+		assetManager.setLoader(Texture.class, textureLoader);
+		loadedPaths = new HashSet<String>();
+		queuedGroups = new ArrayList<PathGroup>();
+		pendingAssets = new ArrayList<PendingAsset>();
+		loadTimes = new LinkedHashMap<String, Float>();
+		loadTimesByType = new LinkedHashMap<String, Float>();
+		referenceCounts = new HashMap<String, Integer>();
+		unusedPaths = new LinkedHashSet<String>();
+		pathBytes = new HashMap<String, Long>();
+		requestedFilenames = new HashSet<String>();
+		unpackedImages = new HashSet<String>();
+		packedGroups = new HashMap<String, PackedGroup>();
+		packedFilenames = new HashSet<String>();
+		variants = new Variants(this);
+		sharedAssets = new SharedAssets(this);
 	}
 
 	/**
@@ -56,17 +125,537 @@ public class Assets {
 	}
 
 	/**
-	 * Loads all assets from the given path.
+	 * Loads all assets from the given path. Assets of every type are loaded in a single pass, so that, for example,
+	 * sounds are decoded while textures are being uploaded.
 	 * 
 	 * @param path
 	 *            the base path of the assets, eg, "level1".
 	 */
 	public void load(String path) {
-		loadAtlases(path);
-		loadTextures(path);
-		loadSounds(path);
-		loadFonts(path);
-		loadMusic(path);
+		long start = System.nanoTime();
+		queue(path);
+		finishLoading();
+		Gdx.app.log(TAG, String.format("Loaded %s in %.2f ms.", path, (System.nanoTime() - start) / NANOS_PER_MILLI));
+	}
+
+	/**
+	 * Queues all assets from the given path to be loaded in the background by update(). The assets are not available
+	 * until update() returns true or finishLoading() is called.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 */
+	public void queue(String path) {
+		queue(path, false);
+	}
+
+	/**
+	 * Queues all assets from the given path to be loaded in the background, as queue() does, but as a path that has
+	 * been released. Unless it is acquired in the meantime, it becomes the most recently used of the unused paths once
+	 * it has loaded, so it may be evicted to stay within the memory budget.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 */
+	public void queueUnused(String path) {
+		queue(path, true);
+	}
+
+	private void queue(String path, boolean isUnused) {
+		if (isLoaded(path) || isQueued(path)) {
+			return;
+		}
+		Gdx.app.log(TAG, "Queueing " + path + ".");
+		PathGroup group = new PathGroup(path);
+		group.isUnused = isUnused;
+		group.atlasFilenames = loadAtlasesAsync(path);
+		if (packPageSize > 0) {
+			queueForPacking(group);
+		} else {
+			group.textureFilenames = loadTexturesAsync(path);
+			group.fontFilenames = loadFontsAsync(path);
+		}
+		group.soundFilenames = loadSoundsAsync(path);
+		group.musicFilenames = loadMusicAsync(path);
+		queuedGroups.add(group);
+	}
+
+	/**
+	 * Enables/disables packing of loose textures and font pages. When enabled, each path's textures and font pages are
+	 * packed into shared pages of the given size as the path is loaded, so that sprites, text and so on can be drawn
+	 * without the sprite batch having to switch textures between them. Images and fonts keep their names. Textures that
+	 * must stay on their own, such as those that are drawn with TextureWrap.Repeat, should be excluded with
+	 * excludeFromPacking(). Packing only applies to paths loaded after it is enabled. Fonts are parsed and pixmaps are
+	 * decoded on the loading thread, while packing and uploading the pages is spread over calls to update(), within
+	 * its time budget and upload limit.
+	 * 
+	 * @param pageSize
+	 *            the width and height of the shared pages, eg, 1024, or 0 to disable packing.
+	 */
+	public void setPacking(int pageSize) {
+		this.packPageSize = pageSize;
+	}
+
+	/**
+	 * Stops a texture from being packed into a shared page.
+	 * 
+	 * @param imageName
+	 *            the image's name, eg, "textures/grass".
+	 */
+	public void excludeFromPacking(String imageName) {
+		unpackedImages.add(imageName);
+	}
+
+	/**
+	 * Returns how many textures have been replaced by shared pages across all loaded paths. This is how many fewer
+	 * texture switches there can be, at most, when drawing everything that has been loaded.
+	 * 
+	 * @return the number of textures saved.
+	 */
+	public int texturesSaved() {
+		int saved = 0;
+		for (PackedGroup packed : packedGroups.values()) {
+			saved += packed.texturesSaved();
+		}
+		return saved;
+	}
+
+	/**
+	 * Enables texture variants, so that each texture or atlas is loaded from whichever variant best suits the device.
+	 * A variant has the same filename as the original but is in a directory with the variant's scale appended, eg,
+	 * "textures@0.5x/grass.png" is a half-resolution variant of "textures/grass.png" and "atlases@2x/pack.pack" is a
+	 * double-resolution variant of "atlases/pack.pack". The variant whose scale is closest to the given texture scale is
+	 * loaded, falling back to the original if there is none. Its images keep their names and are drawn at the same size
+	 * as the original, so a low-end device can load half-resolution textures without any other changes.
+	 * 
+	 * On devices that support ETC1, a texture with a ".etc1" file alongside the chosen ".png" is loaded from the
+	 * ".etc1" file instead, as it uploads faster and takes a quarter of the memory. ETC1 has no alpha channel, so only
+	 * opaque textures, such as backgrounds, should be given one. Variants only apply to paths loaded after they are
+	 * enabled.
+	 * 
+	 * @param textureScale
+	 *            the ideal texture resolution relative to virtual pixels, eg, Camera.pixelScale() for the camera that
+	 *            the textures are drawn with.
+	 * @param scales
+	 *            the scales of the variants that may exist, eg, 0.5f and 2.0f.
+	 */
+	public void setTextureVariants(float textureScale, float... scales) {
+		// A window that hasn't been sized yet has no scale, so treat it as the originals' resolution.
+		boolean isCompressing = Gdx.graphics.supportsExtension("GL_OES_compressed_ETC1_RGB8_texture");
+		variants.setTextureScales(textureScale > 0 ? textureScale : 1.0f, scales, isCompressing);
+		Gdx.app.log(TAG, String.format("Texture scale %.2f, ETC1 %s.", textureScale, isCompressing ? "supported"
+				: "not supported"));
+	}
+
+	/**
+	 * Carries on loading queued assets for up to the given time, making them available if they have all loaded.
+	 * 
+	 * @param millis
+	 *            the time budget in milliseconds.
+	 * @return true if there is nothing left to load.
+	 */
+	public boolean update(int millis) {
+		if (queuedGroups.isEmpty()) {
+			return true;
+		}
+		long start = System.nanoTime();
+		long budgetNanos = millis * 1000000L;
+		if (updateAssetManager(budgetNanos, uploadLimit) && packQueued(start + budgetNanos, uploadLimit)) {
+			populateQueued();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Carries on loading queued assets for up to the given time, as update(int) does, first adapting the upload limit
+	 * to how long the last frame took. The kernel calls this every frame while assets are loading.
+	 * 
+	 * @param millis
+	 *            the time budget in milliseconds.
+	 * @param frameSeconds
+	 *            how long the last frame took, in seconds.
+	 * @return true if there is nothing left to load.
+	 */
+	public boolean update(int millis, float frameSeconds) {
+		adaptUploadLimit(frameSeconds);
+		return update(millis);
+	}
+
+	/**
+	 * Limits how much texture data is uploaded to the GPU per call to update(), so that finishing several large
+	 * textures at once doesn't make a frame hitch. This includes the shared pages that textures and fonts are packed
+	 * into when packing is enabled. Each upload happens in one go, so at least one texture is uploaded
+	 * per call however big it is, but no more are uploaded once the limit has been reached. The limit adapts to the
+	 * frame times given to update(int, float), halving after a frame that took longer than the target and growing
+	 * back towards the maximum after each frame that didn't. finishLoading() isn't limited.
+	 * 
+	 * @param maxBytesPerFrame
+	 *            the most texture data to upload per frame, in bytes, or 0 for no limit.
+	 * @param targetFrameSeconds
+	 *            how long a frame should take, eg, 1 / 60f.
+	 */
+	public void setUploadLimit(long maxBytesPerFrame, float targetFrameSeconds) {
+		this.maxUploadBytes = maxBytesPerFrame;
+		this.uploadLimit = maxBytesPerFrame;
+		this.targetFrameSeconds = targetFrameSeconds;
+	}
+
+	/**
+	 * Returns the current limit on how much texture data is uploaded per frame, which adapts to the frame time.
+	 * 
+	 * @return the limit in bytes, or 0 if there is no limit.
+	 */
+	public long uploadLimit() {
+		return uploadLimit;
+	}
+
+	/**
+	 * Returns how many assets the asset manager has still to load, including any that are being loaded. This shows how
+	 * far behind background loading is.
+	 * 
+	 * @return the queue depth.
+	 */
+	public int queueDepth() {
+		return assetManager.getQueuedAssets();
+	}
+
+	/**
+	 * Returns how many textures have been uploaded to the GPU while loading, including atlas and font pages and the
+	 * shared pages that textures and fonts are packed into.
+	 * 
+	 * @return the number of textures uploaded.
+	 */
+	public int texturesUploaded() {
+		return textureLoader.uploadedTextures() + packedUploadTextures;
+	}
+
+	/**
+	 * Returns the total size of the textures uploaded to the GPU while loading.
+	 */
+	private long uploadedBytes() {
+		return textureLoader.uploadedBytes() + packedUploadBytes;
+	}
+
+	private void adaptUploadLimit(float frameSeconds) {
+		if (maxUploadBytes <= 0 || frameSeconds <= 0) {
+			return;
+		}
+		if (frameSeconds > targetFrameSeconds * SLOW_FRAME_TOLERANCE) {
+			uploadLimit = Math.max(uploadLimit / 2, Math.min(MIN_UPLOAD_LIMIT, maxUploadBytes));
+		} else {
+			uploadLimit = Math.min(uploadLimit + maxUploadBytes / 8, maxUploadBytes);
+		}
+	}
+
+	/**
+	 * Blocks until all queued assets have loaded, then makes them available.
+	 */
+	public void finishLoading() {
+		updateAssetManager(Long.MAX_VALUE);
+		packQueued(Long.MAX_VALUE, 0);
+		populateQueued();
+	}
+
+	/**
+	 * Returns how much of the queued assets have loaded, from 0 to 1.
+	 * 
+	 * @return the progress.
+	 */
+	public float progress() {
+		return queuedGroups.isEmpty() ? 1.0f : assetManager.getProgress();
+	}
+
+	/**
+	 * Returns true if there are queued assets that have not been made available yet.
+	 * 
+	 * @return true if loading.
+	 */
+	public boolean isLoading() {
+		return !queuedGroups.isEmpty();
+	}
+
+	/**
+	 * Returns true if all assets from the given path have been loaded.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 * @return true if loaded.
+	 */
+	public boolean isLoaded(String path) {
+		return loadedPaths.contains(path);
+	}
+
+	/**
+	 * Returns the paths whose assets have all been loaded.
+	 * 
+	 * @return the loaded paths.
+	 */
+	public Set<String> loadedPaths() {
+		return Collections.unmodifiableSet(loadedPaths);
+	}
+
+	/**
+	 * Enables/disables lazy mode. In lazy mode, asking Kernel.images, fonts, sounds or tunes for something that isn't
+	 * loaded looks it up in the manifest and starts loading it in the background. Until it has loaded, they return a
+	 * placeholder that draws nothing, or plays nothing, and whose isReady() method returns false. The placeholder
+	 * becomes the real thing once it has loaded, so it is safe to hold on to it. Lazy mode needs a manifest. Assets that
+	 * are loaded this way stay loaded, as nothing releases them, so they aren't counted by memoryUsed(). Lazy lookups
+	 * must be made on the thread that enabled lazy mode, which is the render thread, as they queue assets while
+	 * update() is loading them. In the kernel's threaded mode this rules them out in a state's update(), so anything
+	 * that might not be loaded should be looked up when the state is entered, or in draw(). A lazy lookup from any
+	 * other thread throws an IllegalStateException.
+	 * 
+	 * @param isLazy true to enable lazy mode, false to disable it.
+	 */
+	public void setLazy(boolean isLazy) {
+		this.isLazy = isLazy;
+		this.lazyThread = isLazy ? Thread.currentThread() : null;
+		Assets lazyAssets = isLazy ? this : null;
+		images.lazyAssets = lazyAssets;
+		fonts.lazyAssets = lazyAssets;
+		sounds.lazyAssets = lazyAssets;
+		tunes.lazyAssets = lazyAssets;
+	}
+
+	/**
+	 * Returns true if lazy mode is enabled.
+	 * 
+	 * @return true if lazy.
+	 */
+	public boolean isLazy() {
+		return isLazy;
+	}
+
+	boolean requestImage(String name) {
+		// An image is either a texture, eg, "textures/grass", or a region of an atlas, eg, "atlases/pack/player".
+		if (request(name + ".png", "textures", Texture.class)) {
+			return true;
+		}
+		int slash = name.lastIndexOf('/');
+		return slash >= 0 && request(name.substring(0, slash) + ".pack", "atlases", TextureAtlas.class);
+	}
+
+	boolean requestFont(String name) {
+		return request(name + ".fnt", "fonts", BitmapFont.class);
+	}
+
+	boolean requestSound(String name) {
+		return request(name + ".ogg", "sounds", Sound.class);
+	}
+
+	boolean requestTune(String name) {
+		return request(name + ".ogg", "music", Music.class);
+	}
+
+	/**
+	 * Starts loading a single asset in the background, if it is in the manifest in a directory of the right type.
+	 * Returns true if the asset is loading, or false if it doesn't exist or has already loaded.
+	 */
+	private boolean request(String relativeFilename, String typeDir, Class<?> klass) {
+		AssetManifest manifest = manifest();
+		if (!isLazy || manifest == null) {
+			return false;
+		}
+		if (Thread.currentThread() != lazyThread) {
+			throw new IllegalStateException("Lazy assets can't be requested from update() in threaded mode: "
+					+ relativeFilename);
+		}
+		String dir = AssetManifest.dirOf(relativeFilename);
+		if (!dir.equals(typeDir) && !dir.endsWith("/" + typeDir)) {
+			return false;
+		}
+		String filename = getBasePath() + relativeFilename;
+		if (requestedFilenames.contains(filename) || isQueuedInPath(filename)) {
+			// It is already on its way, and loading it again would leave the asset manager with a reference that is
+			// never released.
+			return true;
+		}
+		if (manifest.entry(relativeFilename) == null || assetManager.isLoaded(variants.loadedFilename(filename))) {
+			return false;
+		}
+		Gdx.app.log(TAG, "Requesting " + filename + ".");
+		List<String> filenames = new ArrayList<String>();
+		filenames.add(filename);
+		List<String> none = new ArrayList<String>();
+		PathGroup group = new PathGroup(null);
+		group.atlasFilenames = klass == TextureAtlas.class ? filenames : none;
+		group.textureFilenames = klass == Texture.class ? filenames : none;
+		group.soundFilenames = klass == Sound.class ? filenames : none;
+		group.fontFilenames = klass == BitmapFont.class ? filenames : none;
+		group.musicFilenames = klass == Music.class ? filenames : none;
+		queueAsset(filename, klass);
+		requestedFilenames.add(filename);
+		queuedGroups.add(group);
+		return true;
+	}
+
+	/**
+	 * Acquires the assets from the given path, loading them if necessary. A path that has been acquired is never
+	 * evicted. When everything that acquired it has released it, it is kept loaded but may be evicted to stay within
+	 * the memory budget. The kernel acquires the paths returned by a state's assetPaths() when it enters the state, and
+	 * releases them when it exits the state.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 */
+	public void acquire(String path) {
+		Integer count = referenceCounts.get(path);
+		referenceCounts.put(path, count == null ? 1 : count + 1);
+		unusedPaths.remove(path);
+		if (!isLoaded(path)) {
+			load(path);
+		}
+	}
+
+	/**
+	 * Releases assets from the given path that were acquired with acquire(). When a path is no longer acquired it
+	 * becomes the most recently used of the unused paths, which are evicted, least recently used first, whenever the
+	 * memory used goes over the budget.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 */
+	public void release(String path) {
+		Integer count = referenceCounts.get(path);
+		if (count == null) {
+			throw new IllegalStateException(path + " has not been acquired");
+		}
+		if (count > 1) {
+			referenceCounts.put(path, count - 1);
+			return;
+		}
+		referenceCounts.remove(path);
+		if (isLoaded(path)) {
+			unusedPaths.add(path);
+			evictUnused();
+		}
+	}
+
+	/**
+	 * Returns the number of times that the given path has been acquired but not released.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 * @return the reference count.
+	 */
+	public int referenceCount(String path) {
+		Integer count = referenceCounts.get(path);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * Returns the paths that have been released but are still loaded, least recently used first. These are the paths
+	 * that will be evicted if the memory used goes over the budget.
+	 * 
+	 * @return the unused paths.
+	 */
+	public Set<String> unusedPaths() {
+		return Collections.unmodifiableSet(unusedPaths);
+	}
+
+	/**
+	 * Sets the memory budget for loaded assets. Unused paths are evicted whenever the estimated memory used by all
+	 * loaded paths is over the budget. Paths that are in use are never evicted, so the budget may still be exceeded.
+	 * 
+	 * @param bytes
+	 *            the budget in bytes.
+	 */
+	public void setMemoryBudget(long bytes) {
+		this.memoryBudget = bytes;
+		evictUnused();
+	}
+
+	/**
+	 * Returns the memory budget for loaded assets.
+	 * 
+	 * @return the budget in bytes, which is Long.MAX_VALUE if there is no budget.
+	 */
+	public long memoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the estimated memory used by all loaded paths. Textures are counted by their size and pixel format,
+	 * sounds by the size of their files, and music not at all as it is streamed. Assets that were loaded lazily, rather
+	 * than as part of a path, aren't counted.
+	 * 
+	 * @return the memory used in bytes.
+	 */
+	public long memoryUsed() {
+		return memoryUsed;
+	}
+
+	/**
+	 * Returns the estimated memory used by the given path. An asset that is shared with other loaded paths is counted
+	 * against only one of them, and moves to another when that one is unloaded.
+	 * 
+	 * @param path
+	 *            the base path of the assets, eg, "level1".
+	 * @return the memory used in bytes, or 0 if the path isn't loaded.
+	 */
+	public long memoryUsed(String path) {
+		Long bytes = pathBytes.get(path);
+		return bytes == null ? 0 : bytes;
+	}
+
+	/**
+	 * Returns how long each asset took to load, in milliseconds, keyed by filename in the order that they loaded. This
+	 * is the time spent loading on the calling thread, so it doesn't include any frames drawn in between when assets
+	 * are loaded in the background.
+	 * 
+	 * @return the load times.
+	 */
+	public Map<String, Float> loadTimes() {
+		return Collections.unmodifiableMap(loadTimes);
+	}
+
+	/**
+	 * Returns how long has been spent loading each type of asset, in milliseconds, keyed by type, eg, "Texture".
+	 * 
+	 * @return the load times by type.
+	 */
+	public Map<String, Float> loadTimesByType() {
+		return Collections.unmodifiableMap(loadTimesByType);
+	}
+
+	/**
+	 * Returns the manifest of the asset directory, which is read the first time it is needed. Without a manifest,
+	 * assets are found by listing directories.
+	 * 
+	 * @return the manifest, or null if there isn't one.
+	 */
+	public AssetManifest manifest() {
+		if (!isManifestRead) {
+			FileHandle file = resolve(getBasePath() + AssetManifest.FILENAME);
+			if (file.exists()) {
+				Gdx.app.log(TAG, "Reading " + file.path() + ".");
+				manifest = AssetManifest.read(file);
+			}
+			isManifestRead = true;
+		}
+		return manifest;
+	}
+
+	/**
+	 * Returns the archive in the asset directory, which is opened the first time that it is needed. Any file that is in
+	 * the archive is read from it instead of from the asset directory.
+	 * 
+	 * @return the archive, or null if there isn't one.
+	 */
+	public synchronized AssetArchive archive() {
+		// Synchronized as the asset manager may resolve the first file on its own thread.
+		if (!isArchiveOpened) {
+			FileHandle file = Gdx.files.internal(getBasePath() + AssetArchive.FILENAME);
+			if (file.exists()) {
+				long start = System.nanoTime();
+				archive = AssetArchive.open(file);
+				Gdx.app.log(TAG, String.format("Opened %s (%d files) in %.2f ms.", file.path(), archive.entries()
+						.size(), (System.nanoTime() - start) / NANOS_PER_MILLI));
+			}
+			isArchiveOpened = true;
+		}
+		return archive;
 	}
 
 	/**
@@ -76,11 +665,21 @@ public class Assets {
 	 *            the base path of the assets, eg, "level1".
 	 */
 	public void unload(String path) {
+		loadedPaths.remove(path);
+		unusedPaths.remove(path);
+		Long bytes = pathBytes.remove(path);
+		if (bytes != null) {
+			memoryUsed -= bytes;
+		}
 		unloadAtlases(path);
 		unloadTextures(path);
 		unloadSounds(path);
 		unloadFonts(path);
 		unloadMusic(path);
+		PackedGroup packed = packedGroups.remove(path);
+		if (packed != null) {
+			packed.dispose();
+		}
 	}
 
 	/**
@@ -94,7 +693,7 @@ public class Assets {
 	public void loadAtlases(String path) {
 		Gdx.app.log(TAG, "Loading atlases.");
 		List<String> atlasFilenames = loadAtlasesAsync(path);
-		assetManager.finishLoading();
+		updateAssetManager(Long.MAX_VALUE);
 		populateAtlases(atlasFilenames);
 	}
 
@@ -119,7 +718,7 @@ public class Assets {
 	public void loadTextures(String path) {
 		Gdx.app.log(TAG, "Loading textures.");
 		List<String> textureFilenames = loadTexturesAsync(path);
-		assetManager.finishLoading();
+		updateAssetManager(Long.MAX_VALUE);
 		populateTextures(textureFilenames);
 	}
 
@@ -144,7 +743,7 @@ public class Assets {
 	public void loadSounds(String path) {
 		Gdx.app.log(TAG, "Loading sounds.");
 		List<String> soundFilenames = loadSoundsAsync(path);
-		assetManager.finishLoading();
+		updateAssetManager(Long.MAX_VALUE);
 		populateSounds(soundFilenames);
 	}
 
@@ -162,7 +761,7 @@ public class Assets {
 	public void loadMusic(String path) {
 		Gdx.app.log(TAG, "Loading music.");
 		List<String> musicFilenames = loadMusicAsync(path);
-		assetManager.finishLoading();
+		updateAssetManager(Long.MAX_VALUE);
 		populateMusic(musicFilenames);
 	}
 	
@@ -182,7 +781,7 @@ public class Assets {
 	public void loadFonts(String path) {
 		Gdx.app.log(TAG, "Loading fonts.");
 		List<String> fontFilenames = loadFontsAsync(path);
-		assetManager.finishLoading();
+		updateAssetManager(Long.MAX_VALUE);
 		populateFonts(fontFilenames);
 	}
 
@@ -197,6 +796,340 @@ public class Assets {
 		unloadAssets(fontFilenames);
 	}
 
+	private boolean isQueued(String path) {
+		for (PathGroup group : queuedGroups) {
+			if (path.equals(group.path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the given file is part of a path that has been queued but hasn't finished loading.
+	 */
+	private boolean isQueuedInPath(String filename) {
+		for (PathGroup group : queuedGroups) {
+			if (group.path != null && group.contains(filename)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean updateAssetManager(long budgetNanos) {
+		return updateAssetManager(budgetNanos, 0);
+	}
+
+	/**
+	 * Updates the asset manager until everything has loaded, the time budget has run out or the upload limit has been
+	 * reached, timing each asset as it finishes loading.
+	 */
+	private boolean updateAssetManager(long budgetNanos, long uploadLimit) {
+		long start = System.nanoTime();
+		long uploadStart = uploadedBytes();
+		while (true) {
+			long stepStart = System.nanoTime();
+			boolean isDone = assetManager.update();
+			long now = System.nanoTime();
+			unattributedNanos += now - stepStart;
+			if (isDone || assetManager.getLoadedAssets() != lastLoadedAssets) {
+				lastLoadedAssets = assetManager.getLoadedAssets();
+				attributeLoadTimes();
+			}
+			if (isDone) {
+				// Anything still pending was already loaded, or was unloaded before it finished.
+				pendingAssets.clear();
+				return true;
+			}
+			if (now - start >= budgetNanos) {
+				return false;
+			}
+			if (uploadLimit > 0 && uploadedBytes() - uploadStart >= uploadLimit) {
+				return false;
+			}
+			Thread.yield();
+		}
+	}
+
+	private void attributeLoadTimes() {
+		// The asset manager loads one asset at a time, so whatever has just loaded took the time since the last one.
+		List<PendingAsset> loaded = new ArrayList<PendingAsset>();
+		for (PendingAsset asset : pendingAssets) {
+			if (assetManager.isLoaded(asset.filename)) {
+				loaded.add(asset);
+			}
+		}
+		if (loaded.isEmpty()) {
+			return;
+		}
+		pendingAssets.removeAll(loaded);
+		float millis = unattributedNanos / NANOS_PER_MILLI / loaded.size();
+		for (PendingAsset asset : loaded) {
+			loadTimes.put(asset.filename, millis);
+			Float typeMillis = loadTimesByType.get(asset.type);
+			loadTimesByType.put(asset.type, typeMillis == null ? millis : typeMillis + millis);
+			Gdx.app.debug(TAG, String.format("Loaded %s in %.2f ms.", asset.filename, millis));
+		}
+		unattributedNanos = 0;
+	}
+
+	private void queueForPacking(PathGroup group) {
+		group.textureFilenames = new ArrayList<String>();
+		group.packedTextureFilenames = new ArrayList<String>();
+		for (String filename : getAssetFilenames(textureDir(group.path), ".png")) {
+			if (unpackedImages.contains(assetName(filename, ".png"))) {
+				queueAsset(filename, Texture.class);
+				group.textureFilenames.add(filename);
+			} else {
+				queueAsset(filename, Pixmap.class);
+				group.packedTextureFilenames.add(filename);
+			}
+		}
+		// Fonts are built from their data and packed pages, so the asset manager only loads their data, with their pages
+		// as pixmaps.
+		group.fontFilenames = new ArrayList<String>();
+		group.packedFontFilenames = getAssetFilenames(fontDir(group.path), ".fnt");
+		for (String filename : group.packedFontFilenames) {
+			loadAsset(variants.resolveBinaryFont(filename), BitmapFontData.class);
+		}
+	}
+
+	/**
+	 * Packs the pixmaps of the queued paths that are being packed into shared pages, and uploads the pages, a pixmap or
+	 * a page at a time, until everything is packed, the deadline has passed or the upload limit has been reached. At
+	 * least one step is taken per call. Returns true if everything has been packed.
+	 */
+	private boolean packQueued(long deadline, long uploadLimit) {
+		long uploadStart = uploadedBytes();
+		for (PathGroup group : queuedGroups) {
+			if (group.packedTextureFilenames == null) {
+				continue;
+			}
+			if (group.packed == null) {
+				startPacking(group);
+			}
+			while (packNext(group)) {
+				if (System.nanoTime() >= deadline) {
+					return false;
+				}
+				if (uploadLimit > 0 && uploadedBytes() - uploadStart >= uploadLimit) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void startPacking(PathGroup group) {
+		group.packed = new PackedGroup(packPageSize);
+		group.packKeys = new ArrayList<String>();
+		group.packSources = new ArrayList<String>();
+		for (String filename : group.packedTextureFilenames) {
+			group.packKeys.add(filename);
+			group.packSources.add(variants.loadedFilename(filename));
+		}
+		for (String filename : group.packedFontFilenames) {
+			BitmapFontData data = assetManager.get(variants.loadedFilename(filename), BitmapFontData.class);
+			for (String pageFilename : data.getImagePaths()) {
+				if (group.packKeys.contains(pageFilename)) {
+					// A page shared with another font is only packed once, and both fonts find it by its filename.
+					continue;
+				}
+				group.packKeys.add(pageFilename);
+				group.packSources.add(pageFilename);
+			}
+		}
+	}
+
+	/**
+	 * Adds the next pixmap to a path's packed group, or uploads its next shared page once they have all been added,
+	 * returning false if there was nothing left to do.
+	 */
+	private boolean packNext(PathGroup group) {
+		PackedGroup packed = group.packed;
+		long uploaded = packed.uploadedBytes();
+		int textureCount = packed.textureCount();
+		if (group.packCursor < group.packKeys.size()) {
+			String source = group.packSources.get(group.packCursor);
+			packed.add(group.packKeys.get(group.packCursor), assetManager.get(source, Pixmap.class));
+			group.packCursor++;
+		} else if (!packed.uploadNextPage()) {
+			return false;
+		}
+		packedUploadBytes += packed.uploadedBytes() - uploaded;
+		packedUploadTextures += packed.textureCount() - textureCount;
+		return true;
+	}
+
+	private void populatePacked(PathGroup group) {
+		PackedGroup packed = group.packed;
+		for (String filename : group.packedTextureFilenames) {
+			images.add(assetName(filename, ".png"), packed.region(filename), variants.scale(filename));
+		}
+		for (String filename : group.packedFontFilenames) {
+			BitmapFontData data = assetManager.get(variants.loadedFilename(filename), BitmapFontData.class);
+			String[] pageFilenames = data.getImagePaths();
+			TextureRegion[] pageRegions = new TextureRegion[pageFilenames.length];
+			for (int i = 0; i < pageFilenames.length; i++) {
+				pageRegions[i] = packed.region(pageFilenames[i]);
+			}
+			fonts.add(assetName(filename, ".fnt"), PackedGroup.createFont(data, pageRegions));
+		}
+
+		// The packed pixmaps have been copied into the pages, so the asset manager can let go of them. Any that were too
+		// big to pack are kept, as their textures are restored from them, and are unloaded with the path. Unloading a
+		// font's data unloads its pages.
+		for (String filename : group.packedTextureFilenames) {
+			if (packed.isShared(filename)) {
+				assetManager.unload(variants.loadedFilename(filename));
+				packedFilenames.add(filename);
+			}
+		}
+		for (String filename : group.packedFontFilenames) {
+			if (areSharedPages(packed, assetManager.get(variants.loadedFilename(filename), BitmapFontData.class))) {
+				assetManager.unload(variants.loadedFilename(filename));
+				packedFilenames.add(filename);
+			}
+		}
+		packedGroups.put(group.path, packed);
+		Gdx.app.log(TAG, "Packed " + group.path + ", saving " + packed.texturesSaved() + " textures.");
+	}
+
+	private static boolean areSharedPages(PackedGroup packed, BitmapFontData data) {
+		for (String pageFilename : data.getImagePaths()) {
+			if (!packed.isShared(pageFilename)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void populateQueued() {
+		for (PathGroup group : queuedGroups) {
+			if (group.packed != null) {
+				populatePacked(group);
+			}
+			populateAtlases(group.atlasFilenames);
+			populateTextures(group.textureFilenames);
+			populateSounds(group.soundFilenames);
+			populateFonts(group.fontFilenames);
+			populateMusic(group.musicFilenames);
+			if (group.path == null) {
+				// A single asset that was requested in lazy mode. It stays loaded, so it isn't counted against the memory
+				// budget, which couldn't evict it, and which would evict unused paths to make up for it instead.
+				continue;
+			}
+			long bytes = estimateBytes(group);
+			memoryUsed += bytes;
+			loadedPaths.add(group.path);
+			pathBytes.put(group.path, bytes);
+			if (group.isUnused && referenceCount(group.path) == 0) {
+				unusedPaths.add(group.path);
+			}
+			Gdx.app.log(TAG, "Loaded " + group.path + " (" + bytes / 1024 + " KB).");
+		}
+		queuedGroups.clear();
+		requestedFilenames.clear();
+		evictUnused();
+	}
+
+	/**
+	 * Counts more memory against a loaded path, such as a shared asset's memory that has moved to it.
+	 */
+	void countBytes(String path, long bytes) {
+		pathBytes.put(path, pathBytes.get(path) + bytes);
+		memoryUsed += bytes;
+	}
+
+	private void evictUnused() {
+		Iterator<String> leastRecentlyUsed = unusedPaths.iterator();
+		while (memoryUsed > memoryBudget && leastRecentlyUsed.hasNext()) {
+			String path = leastRecentlyUsed.next();
+			leastRecentlyUsed.remove();
+			Gdx.app.log(TAG, "Evicting " + path + ".");
+			unload(path);
+		}
+	}
+
+	private long estimateBytes(PathGroup group) {
+		Set<Texture> textures = new HashSet<Texture>();
+		// Atlases and fonts are never shared, so they are always counted.
+		for (String filename : group.atlasFilenames) {
+			TextureAtlas atlas = assetManager.get(variants.loadedFilename(filename), TextureAtlas.class);
+			for (Texture texture : atlas.getTextures()) {
+				textures.add(texture);
+			}
+		}
+		for (String filename : group.textureFilenames) {
+			Texture texture = assetManager.get(variants.loadedFilename(filename), Texture.class);
+			if (sharedAssets.countOnce(group.path, filename, variants.loadedFilename(filename),
+					textureBytes(texture))) {
+				textures.add(texture);
+			}
+		}
+		for (String filename : group.fontFilenames) {
+			BitmapFont font = assetManager.get(variants.loadedFilename(filename), BitmapFont.class);
+			for (TextureRegion region : font.getRegions()) {
+				textures.add(region.getTexture());
+			}
+		}
+		long bytes = textureBytes(textures);
+		for (String filename : group.soundFilenames) {
+			if (sharedAssets.countOnce(group.path, filename, variants.loadedFilename(filename), fileSize(filename))) {
+				bytes += fileSize(filename);
+			}
+		}
+		PackedGroup packed = group.path != null ? packedGroups.get(group.path) : null;
+		if (packed != null) {
+			bytes += packed.bytes();
+		}
+		return bytes;
+	}
+
+	private static long textureBytes(Set<Texture> textures) {
+		long bytes = 0;
+		for (Texture texture : textures) {
+			bytes += textureBytes(texture);
+		}
+		return bytes;
+	}
+
+	static long textureBytes(Texture texture) {
+		return (long) texture.getWidth() * texture.getHeight() * bytesPerPixel(texture);
+	}
+
+	private static int bytesPerPixel(Texture texture) {
+		Pixmap.Format format = texture.getTextureData().getFormat();
+		if (format == null) {
+			return 4;
+		}
+		switch (format) {
+		case Alpha:
+		case Intensity:
+			return 1;
+		case LuminanceAlpha:
+		case RGB565:
+		case RGBA4444:
+			return 2;
+		case RGB888:
+			return 3;
+		default:
+			return 4;
+		}
+	}
+
+	private long fileSize(String filename) {
+		AssetManifest manifest = manifest();
+		if (manifest != null) {
+			AssetManifest.Entry entry = manifest.entry(filename.substring(getBasePath().length()));
+			if (entry != null) {
+				return entry.size;
+			}
+		}
+		return resolve(filename).length();
+	}
+
 	private List<String> loadAtlasesAsync(String path) {
 		// Load the texture atlases.
 		List<String> atlasFilenames = loadAssets(atlasDir(path), ".pack", TextureAtlas.class);
@@ -258,29 +1191,24 @@ public class Assets {
 	private void populateAtlases(List<String> atlasFilenames) {
 		// Create images from the texture atlases.
 		for (String filename : atlasFilenames) {
-			TextureAtlas atlas = assetManager.get(filename, TextureAtlas.class);
+			TextureAtlas atlas = assetManager.get(variants.loadedFilename(filename), TextureAtlas.class);
 
-			// Lop off the "*data/" prefix and the ".pack" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String shortname = filename.substring(cut);
-			shortname = shortname.substring(0, shortname.length() - 5);
+			String shortname = assetName(filename, ".pack");
 
 			Array<AtlasRegion> regions = atlas.getRegions();
+			float scale = variants.scale(filename);
 			for (AtlasRegion region : regions) {
 				String imageName = shortname + "/" + region.name;
-				images.add(imageName, region);
+				images.add(imageName, region, scale);
 			}
 		}
 	}
 
 	private void depopulateAtlases(List<String> atlasFilenames) {
 		for (String filename : atlasFilenames) {
-			TextureAtlas atlas = assetManager.get(filename, TextureAtlas.class);
+			TextureAtlas atlas = assetManager.get(variants.loadedFilename(filename), TextureAtlas.class);
 
-			// Lop off the "*data/" prefix and the ".pack" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String shortname = filename.substring(cut);
-			shortname = shortname.substring(0, shortname.length() - 5);
+			String shortname = assetName(filename, ".pack");
 
 			Array<AtlasRegion> regions = atlas.getRegions();
 			for (AtlasRegion region : regions) {
@@ -293,24 +1221,18 @@ public class Assets {
 	private void populateTextures(List<String> textureFilenames) {
 		// Create images from the textures.
 		for (String filename : textureFilenames) {
-			Texture texture = assetManager.get(filename, Texture.class);
+			Texture texture = assetManager.get(variants.loadedFilename(filename), Texture.class);
 			TextureRegion region = new TextureRegion(texture);
 
-			// Lop off the "*data/" prefix and the ".png" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String imageName = filename.substring(cut);
-			imageName = imageName.substring(0, imageName.length() - 4);
+			String imageName = assetName(filename, ".png");
 
-			images.add(imageName, region);
+			images.add(imageName, region, variants.scale(filename));
 		}
 	}
 
 	private void depopulateTextures(List<String> textureFilenames) {
 		for (String filename : textureFilenames) {
-			// Lop off the "*data/" prefix and the ".png" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String imageName = filename.substring(cut);
-			imageName = imageName.substring(0, imageName.length() - 4);
+			String imageName = assetName(filename, ".png");
 			images.dispose(imageName);
 		}
 	}
@@ -318,22 +1240,16 @@ public class Assets {
 	private void populateSounds(List<String> soundFilenames) {
 		// Create sounds from the sounds.
 		for (String filename : soundFilenames) {
-			Sound sound = assetManager.get(filename, Sound.class);
+			Sound sound = assetManager.get(variants.loadedFilename(filename), Sound.class);
 
-			// Lop off the "*data/" prefix and the ".ogg" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String soundName = filename.substring(cut);
-			soundName = soundName.substring(0, soundName.length() - 4);
+			String soundName = assetName(filename, ".ogg");
 			sounds.add(soundName, sound);
 		}
 	}
 
 	private void depopulateSounds(List<String> soundFilenames) {
 		for (String filename : soundFilenames) {
-			// Lop off the "*data/" prefix and the ".ogg" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String soundName = filename.substring(cut);
-			soundName = soundName.substring(0, soundName.length() - 4);
+			String soundName = assetName(filename, ".ogg");
 			sounds.dispose(soundName);
 		}
 	}
@@ -341,22 +1257,16 @@ public class Assets {
 	private void populateMusic(List<String> musicFilenames) {
 		// Create tunes from the music.
 		for (String filename : musicFilenames) {
-			Music music = assetManager.get(filename, Music.class);
+			Music music = assetManager.get(variants.loadedFilename(filename), Music.class);
 
-			// Lop off the "*data/" prefix and the ".ogg" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String musicName = filename.substring(cut);
-			musicName = musicName.substring(0, musicName.length() - 4);
+			String musicName = assetName(filename, ".ogg");
 			tunes.add(musicName, music);
 		}
 	}
 
 	private void depopulateMusic(List<String> musicFilenames) {
 		for (String filename : musicFilenames) {
-			// Lop off the "*data/" prefix and the ".ogg" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String musicName = filename.substring(cut);
-			musicName = musicName.substring(0, musicName.length() - 4);
+			String musicName = assetName(filename, ".ogg");
 			tunes.dispose(musicName);
 		}
 	}
@@ -364,61 +1274,178 @@ public class Assets {
 	private void populateFonts(List<String> fontFilenames) {
 		// Create fonts from the fonts.
 		for (String filename : fontFilenames) {
-			BitmapFont gdxFont = assetManager.get(filename, BitmapFont.class);
+			BitmapFont gdxFont = assetManager.get(variants.loadedFilename(filename), BitmapFont.class);
 			gdxFont.setUseIntegerPositions(false);
 
-			// Lop off the "*data/" prefix and the ".fnt" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String fontName = filename.substring(cut);
-			fontName = fontName.substring(0, fontName.length() - 4);
+			String fontName = assetName(filename, ".fnt");
 			fonts.add(fontName, gdxFont);
 		}
 	}
 
 	private void depopulateFonts(List<String> fontFilenames) {
 		for (String filename : fontFilenames) {
-			// Lop off the "*data/" prefix and the ".fnt" suffix.
-			int cut = filename.indexOf("data/") + 5;
-			String fontName = filename.substring(cut);
-			fontName = fontName.substring(0, fontName.length() - 4);
+			String fontName = assetName(filename, ".fnt");
 			fonts.dispose(fontName);
 		}
 	}
 
+	/**
+	 * Derives an asset's name from its filename by lopping off the "*data/" prefix and the extension, eg,
+	 * "data/level1/textures/grass.png" becomes "level1/textures/grass".
+	 * 
+	 * @param filename the asset's filename.
+	 * @param extension the asset's extension, including the ".".
+	 * @return the asset's name.
+	 */
+	static String assetName(String filename, String extension) {
+		int cut = filename.indexOf("data/") + 5;
+		return filename.substring(cut, filename.length() - extension.length());
+	}
+
 	private List<String> loadAssets(String assetDir, String extension, Class<?> klass) {
 		List<String> filenames = getAssetFilenames(assetDir, extension);
 
 		for (String filename : filenames) {
-			assetManager.load(filename, klass);
+			queueAsset(filename, klass);
 		}
 
 		return filenames;
 	}
 
+	/**
+	 * Gives an asset to the asset manager, loading whichever variant suits the device, or sharing an identical asset
+	 * that has already been given to it.
+	 */
+	private void queueAsset(String filename, Class<?> klass) {
+		String loadedFilename = variants.resolve(filename, klass);
+		String sharedFilename = sharedAssets.share(filename, loadedFilename, klass);
+		if (!sharedFilename.equals(loadedFilename)) {
+			// Find the shared asset by this filename from now on, at this variant's scale.
+			variants.redirect(filename, sharedFilename);
+		}
+		loadAsset(sharedFilename, klass);
+	}
+
+	private void loadAsset(String filename, Class<?> klass) {
+		assetManager.load(filename, klass);
+		if (assetManager.isLoaded(filename) || isPending(filename)) {
+			// Shared with an asset that is already being timed.
+			return;
+		}
+		// Binary fonts are timed separately so that they can be compared with fonts parsed from text.
+		String type = filename.endsWith(BinaryFont.EXTENSION) ? BinaryFont.class.getSimpleName() : klass.getSimpleName();
+		pendingAssets.add(new PendingAsset(filename, type));
+	}
+
+	private boolean isPending(String filename) {
+		for (PendingAsset asset : pendingAssets) {
+			if (asset.filename.equals(filename)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void unloadAssets(List<String> filenames) {
 		for (String filename : filenames) {
-			assetManager.unload(filename);
+			String loadedFilename = variants.loadedFilename(filename);
+			variants.remove(filename);
+			sharedAssets.release(filename, loadedFilename);
+			if (!packedFilenames.remove(filename)) {
+				assetManager.unload(loadedFilename);
+			}
 		}
 	}
 
+	/**
+	 * Returns true if the given file is in the asset directory, according to the manifest if there is one.
+	 */
+	boolean exists(String relativeFilename) {
+		AssetManifest manifest = manifest();
+		if (manifest != null) {
+			return manifest.entry(relativeFilename) != null;
+		}
+		return resolve(getBasePath() + relativeFilename).exists();
+	}
+
 	private List<String> getAssetFilenames(String assetDir, String extension) {
 		List<String> filenames = new ArrayList<String>();
 
 		String basePath = getBasePath();
-		FileHandle directory = Gdx.files.internal(basePath + assetDir);
-		FileHandle[] files = directory.list(extension);
-		for (FileHandle file : files) {
-			filenames.add(file.path());
+		AssetManifest manifest = manifest();
+		if (manifest != null) {
+			for (AssetManifest.Entry entry : manifest.entries(assetDir, extension)) {
+				filenames.add(basePath + entry.path);
+			}
+		} else {
+			FileHandle directory = Gdx.files.internal(basePath + assetDir);
+			FileHandle[] files = directory.list(extension);
+			for (FileHandle file : files) {
+				filenames.add(file.path());
+			}
 		}
 
 		return filenames;
 	}
 
-	private String getBasePath() {
+	/**
+	 * Returns a handle for reading the given file, from the archive if there is one and the file is in it.
+	 */
+	private FileHandle resolve(String filename) {
+		AssetArchive archive = archive();
+		return archive != null ? archive.resolve(filename) : Gdx.files.internal(filename);
+	}
+
+	String getBasePath() {
 		// To run this on the desktop from within Eclipse, add
 		// "-Dldtk.assetPath=bin/data" to VM arguments in the
 		// desktop run configuration.
 		String assetPath = System.getProperty("ldtk.assetPath", "data");
 		return assetPath + "/";
 	}
+
+	/**
+	 * An asset that has been given to the asset manager but hasn't been timed yet.
+	 */
+	private static class PendingAsset {
+		final String filename;
+		final String type;
+
+		PendingAsset(String filename, String type) {
+			this.filename = filename;
+			this.type = type;
+		}
+	}
+
+	/**
+	 * The filenames of all assets that have been queued from a path, or of a single asset that was requested in lazy
+	 * mode, in which case the path is null.
+	 */
+	private static class PathGroup {
+		final String path;
+		List<String> atlasFilenames;
+		List<String> textureFilenames;
+		List<String> soundFilenames;
+		List<String> fontFilenames;
+		List<String> musicFilenames;
+		List<String> packedTextureFilenames;
+		List<String> packedFontFilenames;
+		PackedGroup packed;
+		List<String> packKeys;
+		List<String> packSources;
+		int packCursor;
+		boolean isUnused;
+
+		PathGroup(String path) {
+			this.path = path;
+		}
+
+		boolean contains(String filename) {
+			return atlasFilenames.contains(filename) || textureFilenames.contains(filename)
+					|| soundFilenames.contains(filename) || fontFilenames.contains(filename)
+					|| musicFilenames.contains(filename)
+					|| (packedTextureFilenames != null && packedTextureFilenames.contains(filename))
+					|| (packedFontFilenames != null && packedFontFilenames.contains(filename));
+		}
+	}
 }
@@ -0,0 +1,237 @@
+package ldtk;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A pre-baked binary version of a BMFont ".fnt" file, holding the same glyph metrics, kerning pairs and page
+ * references in a flat layout that is read in one go without any text parsing. Assets loads a font from its ".bfnt"
+ * file whenever there is one next to its ".fnt" file. The font's name and its pages are unchanged.
+ *
+ * Binary fonts are generated at build time by running this class's main() method on the asset directory. They must be
+ * regenerated whenever a ".fnt" file changes.
+ */
+public class BinaryFont {
+
+	/**
+	 * The extension of a binary font file.
+	 */
+	public static final String EXTENSION = ".bfnt";
+
+	private static final int MAGIC = 0x4c444642; // "LDFB"
+	private static final int VERSION = 1;
+
+	private BinaryFont() {
+	}
+
+	/**
+	 * Reads a binary font.
+	 *
+	 * @param file the binary font file, eg, Gdx.files.internal("data/fonts/consolas32.bfnt").
+	 * @return the font's data, with its page paths relative to the directory that the file is in.
+	 */
+	@SuppressWarnings("deprecation")
+	public static BitmapFontData read(FileHandle file) {
+		ByteBuffer in = ByteBuffer.wrap(file.readBytes());
+		try {
+			if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+				throw new GdxRuntimeException("Not a binary font, or the wrong version: " + file);
+			}
+			BitmapFontData data = new BitmapFontData();
+			data.fontFile = file;
+			data.flipped = in.get() != 0;
+			data.lineHeight = in.getFloat();
+			data.capHeight = in.getFloat();
+			data.ascent = in.getFloat();
+			data.descent = in.getFloat();
+			data.down = in.getFloat();
+			data.spaceWidth = in.getFloat();
+			data.xHeight = in.getFloat();
+
+			data.imagePaths = new String[in.getShort()];
+			FileHandle dir = file.parent();
+			for (int i = 0; i < data.imagePaths.length; i++) {
+				data.imagePaths[i] = dir.child(readString(in)).path().replace('\\', '/');
+			}
+			data.imagePath = data.imagePaths[0];
+
+			int glyphCount = in.getInt();
+			for (int i = 0; i < glyphCount; i++) {
+				Glyph glyph = new Glyph();
+				glyph.id = in.getChar();
+				glyph.srcX = in.getShort();
+				glyph.srcY = in.getShort();
+				glyph.width = in.getShort();
+				glyph.height = in.getShort();
+				glyph.xoffset = in.getShort();
+				glyph.yoffset = in.getShort();
+				glyph.xadvance = in.getShort();
+				glyph.page = in.get();
+				data.setGlyph(glyph.id, glyph);
+			}
+
+			int kerningCount = in.getInt();
+			for (int i = 0; i < kerningCount; i++) {
+				Glyph glyph = data.getGlyph(in.getChar());
+				glyph.setKerning(in.getChar(), in.get());
+			}
+			return data;
+		} catch (BufferUnderflowException e) {
+			throw new GdxRuntimeException("Truncated binary font: " + file, e);
+		}
+	}
+
+	/**
+	 * Writes a font's data as a binary font.
+	 *
+	 * @param data the font's data, eg, new BitmapFontData(fntFile, false).
+	 * @param file the binary font file, which must be in the same directory as the font's ".fnt" file.
+	 * @throws IOException if the binary font can't be written.
+	 */
+	public static void write(BitmapFontData data, File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+		try {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeByte(data.flipped ? 1 : 0);
+			out.writeFloat(data.lineHeight);
+			out.writeFloat(data.capHeight);
+			out.writeFloat(data.ascent);
+			out.writeFloat(data.descent);
+			out.writeFloat(data.down);
+			out.writeFloat(data.spaceWidth);
+			out.writeFloat(data.xHeight);
+
+			out.writeShort(data.imagePaths.length);
+			String dir = data.fontFile.parent().path().replace('\\', '/') + "/";
+			for (String imagePath : data.imagePaths) {
+				writeString(out, imagePath.startsWith(dir) ? imagePath.substring(dir.length()) : imagePath);
+			}
+
+			List<Glyph> glyphs = glyphs(data);
+			out.writeInt(glyphs.size());
+			int kerningCount = 0;
+			for (Glyph glyph : glyphs) {
+				out.writeChar(glyph.id);
+				out.writeShort(glyph.srcX);
+				out.writeShort(glyph.srcY);
+				out.writeShort(glyph.width);
+				out.writeShort(glyph.height);
+				out.writeShort(glyph.xoffset);
+				out.writeShort(glyph.yoffset);
+				out.writeShort(glyph.xadvance);
+				out.writeByte(glyph.page);
+				kerningCount += kerningCount(glyph);
+			}
+
+			out.writeInt(kerningCount);
+			for (Glyph glyph : glyphs) {
+				if (glyph.kerning == null) {
+					continue;
+				}
+				int pageSize = 0x10000 / glyph.kerning.length;
+				for (int page = 0; page < glyph.kerning.length; page++) {
+					byte[] amounts = glyph.kerning[page];
+					for (int i = 0; amounts != null && i < amounts.length; i++) {
+						if (amounts[i] != 0) {
+							out.writeChar(glyph.id);
+							out.writeChar(page * pageSize + i);
+							out.writeByte(amounts[i]);
+						}
+					}
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes a binary font next to every ".fnt" file under the given asset directory, and reports how long each format
+	 * takes to read. Run this whenever fonts are added or changed, and before generating the asset manifest, eg,
+	 * "java -cp ldtk/bin:ldtk/libs/gdx.jar ldtk.BinaryFont assets/data".
+	 *
+	 * @param args the asset directory.
+	 * @throws IOException if a binary font can't be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: BinaryFont <asset directory>");
+			System.exit(1);
+		}
+		File root = new File(args[0]);
+		for (AssetManifest.Entry entry : AssetManifest.create(root).entries()) {
+			if (!entry.path.endsWith(".fnt")) {
+				continue;
+			}
+			FileHandle fntFile = new FileHandle(new File(root, entry.path));
+			long start = System.nanoTime();
+			BitmapFontData data = new BitmapFontData(fntFile, false);
+			long textNanos = System.nanoTime() - start;
+
+			String binaryPath = entry.path.substring(0, entry.path.length() - 4) + EXTENSION;
+			File binaryFile = new File(root, binaryPath);
+			write(data, binaryFile);
+
+			start = System.nanoTime();
+			read(new FileHandle(binaryFile));
+			long binaryNanos = System.nanoTime() - start;
+			System.out.println(String.format("Wrote %s (%d bytes, read in %.2f ms) from %s (%d bytes, parsed in %.2f ms)",
+					binaryPath, binaryFile.length(), binaryNanos / 1000000.0f, entry.path, entry.size,
+					textNanos / 1000000.0f));
+		}
+	}
+
+	private static List<Glyph> glyphs(BitmapFontData data) {
+		List<Glyph> glyphs = new ArrayList<Glyph>();
+		for (Glyph[] page : data.glyphs) {
+			for (int i = 0; page != null && i < page.length; i++) {
+				if (page[i] != null) {
+					glyphs.add(page[i]);
+				}
+			}
+		}
+		return glyphs;
+	}
+
+	private static int kerningCount(Glyph glyph) {
+		int count = 0;
+		for (int page = 0; glyph.kerning != null && page < glyph.kerning.length; page++) {
+			byte[] amounts = glyph.kerning[page];
+			for (int i = 0; amounts != null && i < amounts.length; i++) {
+				if (amounts[i] != 0) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static String readString(ByteBuffer in) {
+		byte[] bytes = new byte[in.getShort()];
+		in.get(bytes);
+		try {
+			return new String(bytes, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes = s.getBytes("UTF-8");
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+}
@@ -0,0 +1,59 @@
+package ldtk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads fonts from binary font files for the asset manager. It works just like the asset manager's own font loader,
+ * loading the font's pages as dependencies, but reads the font with BinaryFont instead of parsing a ".fnt" file.
+ */
+class BinaryFontLoader extends AsynchronousAssetLoader<BitmapFont, BitmapFontParameter> {
+
+	// Keyed by filename, as one loader reads every font and the asset manager may read one while finishing another.
+	private final Map<String, BitmapFontData> fontData = Collections
+			.synchronizedMap(new HashMap<String, BitmapFontData>());
+
+	BinaryFontLoader(FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, BitmapFontParameter parameter) {
+		BitmapFontData data = BinaryFont.read(file);
+		fontData.put(fileName, data);
+		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+		for (String imagePath : data.getImagePaths()) {
+			dependencies.add(new AssetDescriptor<Texture>(imagePath, Texture.class));
+		}
+		return dependencies;
+	}
+
+	@Override
+	public void loadAsync(AssetManager manager, String fileName, FileHandle file, BitmapFontParameter parameter) {
+	}
+
+	@Override
+	public BitmapFont loadSync(AssetManager manager, String fileName, FileHandle file, BitmapFontParameter parameter) {
+		BitmapFontData data = fontData.remove(fileName);
+		String[] imagePaths = data.getImagePaths();
+		TextureRegion[] regions = new TextureRegion[imagePaths.length];
+		for (int i = 0; i < regions.length; i++) {
+			regions[i] = new TextureRegion(manager.get(imagePaths[i], Texture.class));
+		}
+		return new BitmapFont(data, regions, true);
+	}
+}
@@ -45,7 +45,16 @@ public class Camera {
 	 * Disposes of the camera.
 	 */
 	public void dispose() {
-		cameras.dispose(name);
+		cameras.dispose(this);
+	}
+
+	/**
+	 * Returns this camera's name.
+	 * 
+	 * @return the name.
+	 */
+	public String name() {
+		return name;
 	}
 
 	/**
@@ -116,6 +125,19 @@ public class Camera {
 		return viewport.height() / zoom;
 	}
 
+	/**
+	 * Returns how many screen pixels there are to each of this camera's virtual pixels, ignoring zoom, for a screen of
+	 * the current size. This is the resolution that its textures ideally have, relative to virtual pixels.
+	 * 
+	 * @return the number of screen pixels per virtual pixel.
+	 */
+	public float pixelScale() {
+		float screenWidth = Gdx.graphics.getWidth();
+		float screenHeight = Gdx.graphics.getHeight();
+		Vector2 size = scaler.scale(screenWidth, screenHeight);
+		return Math.min(screenWidth / size.x, screenHeight / size.y);
+	}
+
 	/**
 	 * Returns this camera's angle (in degrees).
 	 * 
@@ -216,9 +238,14 @@ public class Camera {
 		updatePositionIfDirty();
 		updateAngleIfDirty();
 		updateZoom();
-		scissorIfDesired();
 		camera.update();
-		Kernel.batch.setProjectionMatrix(camera.combined);
+		if (Kernel.renderQueue.isRecording()) {
+			// The queue applies the view and scissoring when it submits what was drawn with this camera.
+			Kernel.renderQueue.setView(camera.combined, isScissored ? scissorRect : null);
+		} else {
+			scissorIfDesired();
+			Kernel.batch.setProjectionMatrix(camera.combined);
+		}
 		setClean();
 	}
 
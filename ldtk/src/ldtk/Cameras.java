@@ -1,14 +1,11 @@
 package ldtk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.badlogic.gdx.Gdx;
 
 
 public class Cameras {
 	// All of the cameras.
-	private Map<String, Camera> cameras = new HashMap<String, Camera>(); 
+	private Registry<Camera> cameras = new Registry<Camera>();
 
 	// The currently active camera.
 	private Camera active;
@@ -74,6 +71,29 @@ public class Cameras {
 		return cameras.get(name);
 	}
 
+	/**
+	 * Returns the handle of the camera with the given name. Looking a camera up by handle with get(int) is much cheaper
+	 * than looking it up by name, so resolve handles once, eg, when a state is entered, and use them every frame. A
+	 * handle stays valid even if the camera is disposed of and added again, and can be obtained before the camera
+	 * exists.
+	 * 
+	 * @param name the name of the camera.
+	 * @return the handle.
+	 */
+	public int handle(String name) {
+		return cameras.handle(name);
+	}
+
+	/**
+	 * Obtains a camera by handle.
+	 * 
+	 * @param handle the handle, from handle(String).
+	 * @return the camera, or null if there isn't one with that handle's name.
+	 */
+	public Camera get(int handle) {
+		return cameras.get(handle);
+	}
+
 	/**
 	 * Disposes of a camera.
 	 * 
@@ -83,6 +103,20 @@ public class Cameras {
 		cameras.remove(name);
 	}
 
+	/**
+	 * Disposes of a camera, unless it has already been replaced by another camera with the same name.
+	 * 
+	 * @param camera the camera that is being disposed.
+	 */
+	void dispose(Camera camera) {
+		if (cameras.get(camera.name()) == camera) {
+			cameras.remove(camera.name());
+		}
+		if (active == camera) {
+			active = null;
+		}
+	}
+
 	/**
 	 * Informs all cameras that the window (or screen) has been resized and that they should resize themselves next
 	 * time they are activated.
@@ -91,8 +125,11 @@ public class Cameras {
 	 * @param height the new window height.
 	 */
 	public void resize(int width, int height) {
-		for (Camera camera : cameras.values()) {
-			camera.doResize(width, height);
+		for (int i = 0, n = cameras.size(); i < n; i++) {
+			Camera camera = cameras.get(i);
+			if (camera != null) {
+				camera.doResize(width, height);
+			}
 		}
 	}
 }
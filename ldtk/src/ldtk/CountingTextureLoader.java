@@ -0,0 +1,45 @@
+package ldtk;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+
+/**
+ * The asset manager's texture loader, counting the textures that it uploads to the GPU and their size. Every texture
+ * that the asset manager loads goes through it, including atlas and font pages. When packing is enabled, loose
+ * textures and font pages are loaded as pixmaps instead, and the pages that they are packed into are counted by
+ * Assets.
+ */
+class CountingTextureLoader extends TextureLoader {
+
+	private long uploadedBytes;
+	private int uploadedTextures;
+
+	CountingTextureLoader(FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@Override
+	public Texture loadSync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		Texture texture = super.loadSync(manager, fileName, file, parameter);
+		uploadedBytes += Assets.textureBytes(texture);
+		uploadedTextures++;
+		return texture;
+	}
+
+	/**
+	 * Returns the total size of every texture uploaded so far.
+	 */
+	long uploadedBytes() {
+		return uploadedBytes;
+	}
+
+	/**
+	 * Returns the number of textures uploaded so far.
+	 */
+	int uploadedTextures() {
+		return uploadedTextures;
+	}
+}
@@ -0,0 +1,50 @@
+package ldtk;
+
+/**
+ * A pair of objects, typically snapshots of a state, where one is written by update() while the other is read by
+ * draw(). Swapping them makes the most recently written object the one that is read.
+ */
+public class DoubleBuffer<T> {
+
+	private T front;
+	private T back;
+
+	/**
+	 * Creates a double buffer from two objects of the same type.
+	 * 
+	 * @param front the object that is read first.
+	 * @param back the object that is written first.
+	 */
+	public DoubleBuffer(T front, T back) {
+		this.front = front;
+		this.back = back;
+	}
+
+	/**
+	 * Returns the object that draw() reads.
+	 * 
+	 * @return the front object.
+	 */
+	public T front() {
+		return front;
+	}
+
+	/**
+	 * Returns the object that update() writes.
+	 * 
+	 * @return the back object.
+	 */
+	public T back() {
+		return back;
+	}
+
+	/**
+	 * Swaps the front and back objects. This must only be called when nothing is reading or writing either of them,
+	 * such as from State.publish().
+	 */
+	public void swap() {
+		T temp = front;
+		front = back;
+		back = temp;
+	}
+}
@@ -1,8 +1,10 @@
 package ldtk;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
 import com.badlogic.gdx.math.Rectangle;
 
 /**
@@ -10,23 +12,76 @@ import com.badlogic.gdx.math.Rectangle;
  */
 public class Font {
 
+	/**
+	 * The number of texts that a font keeps laid out before it starts evicting the least recently used ones.
+	 */
+	public static final int MAX_CACHED_TEXTS = 64;
+
+	/**
+	 * The most decimal places that a float can be drawn or appended with.
+	 */
+	public static final int MAX_DECIMALS = 9;
+
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+			100000000L, 1000000000L };
+
 	private final Fonts fonts;
 	private final String name;
-	private final BitmapFont bitmapFont;
 	private final Rectangle bounds;
-	private final float height;
+	private final Map<String, Text> texts;
+	private Text evictedText;
+	private final Text scratchText;
+	private final StringBuilder digits;
+	private BitmapFont bitmapFont;
+	private float height;
 
 	Font(Fonts fonts, String name, BitmapFont bitmapFont) {
+		this(fonts, name);
+		resolve(bitmapFont);
+	}
+
+	/**
+	 * Creates a placeholder for a font that is still loading. It draws nothing until it is resolved.
+	 */
+	Font(Fonts fonts, String name) {
 		this.fonts = fonts;
 		this.name = name;
-		this.bitmapFont = bitmapFont;
 		this.bounds = new Rectangle();
+		this.texts = new LinkedHashMap<String, Text>(MAX_CACHED_TEXTS * 2, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Text> eldest) {
+				if (size() <= MAX_CACHED_TEXTS) {
+					return false;
+				}
+				// Keep the evicted text so that the next new string can reuse its layout.
+				evictedText = eldest.getValue();
+				return true;
+			}
+		};
+		this.scratchText = new Text(this);
+		this.digits = new StringBuilder(32);
+	}
+
+	void resolve(BitmapFont bitmapFont) {
+		this.bitmapFont = bitmapFont;
 		this.height = bitmapFont.getLineHeight();
 		this.bounds.height = height;
 	}
 
 	/**
-	 * Draws a string with this font.
+	 * Returns true if this font has loaded. A font that hasn't loaded yet draws nothing and has no size.
+	 * 
+	 * @return true if loaded.
+	 */
+	public boolean isReady() {
+		return bitmapFont != null;
+	}
+
+	/**
+	 * Draws a string with this font. The string is laid out once and then kept laid out, as described in text(), so
+	 * strings that change every frame are better drawn another way.
 	 * 
 	 * @param text the string being drawn.
 	 * @param x the x coordinate of the bottom left of the text.
@@ -34,8 +89,54 @@ public class Font {
 	 * @param color
 	 */
 	public void draw(String text, float x, float y, Color color) {
-		bitmapFont.setColor(color);
-		bitmapFont.draw(Kernel.batch, text, x, y + height);
+		if (bitmapFont == null) {
+			return;
+		}
+		text(text).draw(x, y, color);
+	}
+
+	/**
+	 * Draws a sequence of characters with this font, such as a StringBuilder that is reused from frame to frame. Unlike
+	 * a string, it is laid out again each time it is drawn and isn't kept, so drawing it allocates nothing.
+	 * 
+	 * @param text the characters being drawn.
+	 * @param x the x coordinate of the bottom left of the text.
+	 * @param y the y coordinate of the bottom left of the text.
+	 * @param color the colour of the text.
+	 */
+	public void draw(CharSequence text, float x, float y, Color color) {
+		if (bitmapFont == null) {
+			return;
+		}
+		scratchText.set(text);
+		scratchText.draw(x, y, color);
+	}
+
+	/**
+	 * Draws an integer with this font, without allocating.
+	 * 
+	 * @param value the integer being drawn.
+	 * @param x the x coordinate of the bottom left of the text.
+	 * @param y the y coordinate of the bottom left of the text.
+	 * @param color the colour of the text.
+	 */
+	public void draw(int value, float x, float y, Color color) {
+		digits.setLength(0);
+		draw(append(digits, value), x, y, color);
+	}
+
+	/**
+	 * Draws a float with this font with a fixed number of decimal places, without allocating.
+	 * 
+	 * @param value the float being drawn.
+	 * @param decimals the number of decimal places, from 0 to MAX_DECIMALS.
+	 * @param x the x coordinate of the bottom left of the text.
+	 * @param y the y coordinate of the bottom left of the text.
+	 * @param color the colour of the text.
+	 */
+	public void draw(float value, int decimals, float x, float y, Color color) {
+		digits.setLength(0);
+		draw(append(digits, value, decimals), x, y, color);
 	}
 
 	/**
@@ -45,11 +146,118 @@ public class Font {
 	 * @return the bounds of the text.
 	 */
 	public Rectangle bounds(String text) {
-		TextBounds textBounds = bitmapFont.getBounds(text);
-		bounds.width = textBounds.width;
+		if (bitmapFont == null) {
+			bounds.width = 0;
+			return bounds;
+		}
+		bounds.width = text(text).width();
 		return bounds;
 	}
-	
+
+	/**
+	 * Returns the size of the given sequence of characters if drawn in this font, without keeping it laid out.
+	 * 
+	 * @param text the characters.
+	 * @return the bounds of the text.
+	 */
+	public Rectangle bounds(CharSequence text) {
+		if (bitmapFont == null) {
+			bounds.width = 0;
+			return bounds;
+		}
+		scratchText.set(text);
+		bounds.width = scratchText.width();
+		return bounds;
+	}
+
+	/**
+	 * Returns the given string laid out in this font, ready to be measured and drawn without being laid out again.
+	 * The font keeps the last MAX_CACHED_TEXTS strings that it was asked for laid out, evicting the least recently used
+	 * ones, so asking for the same string every frame costs a lookup.
+	 * 
+	 * @param string the string.
+	 * @return the laid out text.
+	 */
+	public Text text(String string) {
+		Text text = texts.get(string);
+		if (text == null) {
+			text = new Text(this);
+			if (evictedText != null) {
+				text.reuseLayout(evictedText);
+				evictedText = null;
+			}
+			text.set(string);
+			texts.put(string, text);
+		}
+		return text;
+	}
+
+	/**
+	 * Appends an integer to a StringBuilder. StringBuilder.append(int) creates a temporary string on some versions of
+	 * Android, but this doesn't allocate unless the builder has to grow.
+	 * 
+	 * @param builder the builder.
+	 * @param value the integer.
+	 * @return the builder.
+	 */
+	public static StringBuilder append(StringBuilder builder, int value) {
+		long magnitude = value;
+		if (magnitude < 0) {
+			builder.append('-');
+			magnitude = -magnitude;
+		}
+		return appendDigits(builder, magnitude, 1);
+	}
+
+	/**
+	 * Appends a float to a StringBuilder with a fixed number of decimal places, rounding halves away from zero, eg,
+	 * 2.5f with 0 decimals is "3" and -0.004f with 2 decimals is "0.00". Floats too big to fit in a long once scaled
+	 * are clamped. Unlike StringBuilder.append(float), it doesn't allocate unless the builder has to grow.
+	 * 
+	 * @param builder the builder.
+	 * @param value the float.
+	 * @param decimals the number of decimal places, from 0 to MAX_DECIMALS.
+	 * @return the builder.
+	 */
+	public static StringBuilder append(StringBuilder builder, float value, int decimals) {
+		if (decimals < 0 || decimals > MAX_DECIMALS) {
+			throw new IllegalArgumentException("decimals must be from 0 to " + MAX_DECIMALS);
+		}
+		if (Float.isNaN(value)) {
+			return builder.append("NaN");
+		}
+		if (Float.isInfinite(value)) {
+			return builder.append(value > 0 ? "Infinity" : "-Infinity");
+		}
+		long scale = POWERS_OF_TEN[decimals];
+		long scaled = Math.round(Math.abs((double) value) * scale);
+		// Only show a minus sign if something other than zeros follows it.
+		if (value < 0 && scaled != 0) {
+			builder.append('-');
+		}
+		appendDigits(builder, scaled / scale, 1);
+		if (decimals > 0) {
+			builder.append('.');
+			appendDigits(builder, scaled % scale, decimals);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the digits of a value that isn't negative, padding it with leading zeros to at least the given number
+	 * of digits.
+	 */
+	private static StringBuilder appendDigits(StringBuilder builder, long value, int minDigits) {
+		long divisor = 1;
+		for (int digitCount = 1; digitCount < minDigits || divisor <= value / 10; digitCount++) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			builder.append((char) ('0' + value / divisor % 10));
+		}
+		return builder;
+	}
+
 	/**
 	 * Returns the height of the font.
 	 */
@@ -67,7 +275,7 @@ public class Font {
 	/**
 	 * Returns the underlying BitmapFont.
 	 * 
-	 * @return the underlying BitmapFont.
+	 * @return the underlying BitmapFont, or null if it hasn't loaded yet.
 	 */
 	public BitmapFont bitmapFont() {
 		return bitmapFont;
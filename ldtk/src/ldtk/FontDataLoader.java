@@ -0,0 +1,59 @@
+package ldtk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads a font's data, but not the font itself, for the asset manager, with its pages as pixmaps rather than textures
+ * so that they can be packed into shared pages. The data is read from a binary font file if it has the binary font
+ * extension, or parsed from a ".fnt" file otherwise. Either way it is read on the asset manager's loading thread.
+ */
+class FontDataLoader extends AsynchronousAssetLoader<BitmapFontData, FontDataLoader.FontDataParameter> {
+
+	// Keyed by filename, as one loader reads every font and the asset manager may read one while finishing another.
+	private final Map<String, BitmapFontData> fontData = Collections
+			.synchronizedMap(new HashMap<String, BitmapFontData>());
+
+	FontDataLoader(FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, FontDataParameter parameter) {
+		BitmapFontData data = fileName.endsWith(BinaryFont.EXTENSION) ? BinaryFont.read(file) : new BitmapFontData(file,
+				false);
+		fontData.put(fileName, data);
+		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+		for (String imagePath : data.getImagePaths()) {
+			dependencies.add(new AssetDescriptor<Pixmap>(imagePath, Pixmap.class));
+		}
+		return dependencies;
+	}
+
+	@Override
+	public void loadAsync(AssetManager manager, String fileName, FileHandle file, FontDataParameter parameter) {
+	}
+
+	@Override
+	public BitmapFontData loadSync(AssetManager manager, String fileName, FileHandle file, FontDataParameter parameter) {
+		return fontData.remove(fileName);
+	}
+
+	/**
+	 * The font data loader takes no parameters.
+	 */
+	static class FontDataParameter extends AssetLoaderParameters<BitmapFontData> {
+	}
+}
@@ -1,14 +1,14 @@
 package ldtk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 
 
 public class Fonts {
 	// All of the fonts.
-	private Map<String, Font> fonts = new HashMap<String, Font>(); 
+	private Registry<Font> fonts = new Registry<Font>();
+
+	// Where to load unknown fonts from in lazy mode.
+	Assets lazyAssets;
 
 	/**
 	 * Obtains a font by name.
@@ -17,9 +17,40 @@ public class Fonts {
 	 * @return the font.
 	 */
 	public Font get(String name) {
-		return fonts.get(name);
+		Font font = fonts.get(name);
+		if (font == null && lazyAssets != null && lazyAssets.requestFont(name)) {
+			font = new Font(this, name);
+			fonts.put(name, font);
+		}
+		return font;
 	}
 	
+	/**
+	 * Returns the handle of the font with the given name. Looking a font up by handle with get(int) is much cheaper
+	 * than looking it up by name, so resolve handles once, eg, when a state is entered, and use them every frame. A
+	 * handle stays valid even if the font is disposed of and added again, and can be obtained before the font exists.
+	 * 
+	 * @param name the name of the font.
+	 * @return the handle.
+	 */
+	public int handle(String name) {
+		if (fonts.get(name) == null) {
+			// In lazy mode this starts loading it.
+			get(name);
+		}
+		return fonts.handle(name);
+	}
+
+	/**
+	 * Obtains a font by handle.
+	 * 
+	 * @param handle the handle, from handle(String).
+	 * @return the font, or null if there isn't one with that handle's name.
+	 */
+	public Font get(int handle) {
+		return fonts.get(handle);
+	}
+
 	/**
 	 * Adds a named font to the kernel.
 	 * 
@@ -27,7 +58,12 @@ public class Fonts {
 	 * @param font the font's underlying BitmapFont.
 	 */
 	public void add(String name, BitmapFont font) {
-		fonts.put(name, new Font(this, name, font));
+		Font existing = fonts.get(name);
+		if (existing != null && !existing.isReady()) {
+			existing.resolve(font);
+		} else {
+			fonts.put(name, new Font(this, name, font));
+		}
 	}
 
 	/**
@@ -9,22 +9,46 @@ public class Image {
 	
 	private final Images images;
 	private final String name;
-	private final TextureRegion region;
-	private final float width;
-	private final float height;
-	private final float halfWidth;
-	private final float halfHeight;
+	private TextureRegion region;
+	private float width;
+	private float height;
+	private float halfWidth;
+	private float halfHeight;
 
-	Image(Images images, String name, TextureRegion region) {
+	Image(Images images, String name, TextureRegion region, float scale) {
+		this(images, name);
+		resolve(region, scale);
+	}
+
+	/**
+	 * Creates a placeholder for an image that is still loading. It draws nothing until it is resolved.
+	 */
+	Image(Images images, String name) {
 		this.images = images;
 		this.name = name;
+	}
+
+	/**
+	 * Makes this image draw the given region. The scale is the region's resolution relative to virtual pixels,
+	 * eg, 0.5 for a region loaded from a half-resolution variant, which is drawn at twice its size in pixels.
+	 */
+	void resolve(TextureRegion region, float scale) {
 		this.region = region;
-		this.width = region.getRegionWidth();
-		this.height = region.getRegionHeight();
+		this.width = region.getRegionWidth() / scale;
+		this.height = region.getRegionHeight() / scale;
 		this.halfWidth = width / 2.0f;
 		this.halfHeight = height / 2.0f;
 	}
 
+	/**
+	 * Returns true if this image has loaded. An image that hasn't loaded yet draws nothing.
+	 * 
+	 * @return true if loaded.
+	 */
+	public boolean isReady() {
+		return region != null;
+	}
+
 	/**
 	 * Draws this image at the given coordinates.
 	 * 
@@ -32,7 +56,10 @@ public class Image {
 	 * @param y the y coordinate of the middle of the image.
 	 */
 	public void draw(float x, float y) {
-		Kernel.batch.draw(region, x - halfWidth, y - halfHeight);
+		if (region == null) {
+			return;
+		}
+		Kernel.renderQueue.draw(region, x - halfWidth, y - halfHeight, width, height);
 	}
 
 	/**
@@ -43,14 +70,34 @@ public class Image {
 	 * @param ccwDegrees the angle of rotation anti-clockwise around the centre in degrees.
 	 */
 	public void draw(float x, float y, float ccwDegrees) {
-		Kernel.batch.draw(region, x - halfWidth, y - halfHeight, halfWidth, halfHeight, width, height, 1.0f, 1.0f,
-				ccwDegrees);
+		if (region == null) {
+			return;
+		}
+		Kernel.renderQueue.draw(region, x - halfWidth, y - halfHeight, halfWidth, halfHeight, width, height, ccwDegrees);
 	}
 	
+	/**
+	 * Returns this image's width in virtual pixels, which is the same whichever variant of its texture was loaded.
+	 * 
+	 * @return the width.
+	 */
+	public float width() {
+		return width;
+	}
+
+	/**
+	 * Returns this image's height in virtual pixels, which is the same whichever variant of its texture was loaded.
+	 * 
+	 * @return the height.
+	 */
+	public float height() {
+		return height;
+	}
+
 	/**
 	 * Returns this image's texture region.
 	 * 
-	 * @return this image's texture region.
+	 * @return this image's texture region, or null if it hasn't loaded yet.
 	 */
 	public TextureRegion region() {
 		return this.region;
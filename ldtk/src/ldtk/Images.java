@@ -1,14 +1,14 @@
 package ldtk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 
 public class Images {
 	// All of the images.
-	private Map<String, Image> sounds = new HashMap<String, Image>(); 
+	private Registry<Image> images = new Registry<Image>();
+
+	// Where to load unknown images from in lazy mode.
+	Assets lazyAssets;
 
 	/**
 	 * Obtains an image by name.
@@ -17,9 +17,40 @@ public class Images {
 	 * @return the image.
 	 */
 	public Image get(String name) {
-		return sounds.get(name);
+		Image image = images.get(name);
+		if (image == null && lazyAssets != null && lazyAssets.requestImage(name)) {
+			image = new Image(this, name);
+			images.put(name, image);
+		}
+		return image;
 	}
 	
+	/**
+	 * Returns the handle of the image with the given name. Looking an image up by handle with get(int) is much cheaper
+	 * than looking it up by name, so resolve handles once, eg, when a state is entered, and use them every frame. A
+	 * handle stays valid even if the image is disposed of and added again, and can be obtained before the image exists.
+	 * 
+	 * @param name the name of the image.
+	 * @return the handle.
+	 */
+	public int handle(String name) {
+		if (images.get(name) == null) {
+			// In lazy mode this starts loading it.
+			get(name);
+		}
+		return images.handle(name);
+	}
+
+	/**
+	 * Obtains an image by handle.
+	 * 
+	 * @param handle the handle, from handle(String).
+	 * @return the image, or null if there isn't one with that handle's name.
+	 */
+	public Image get(int handle) {
+		return images.get(handle);
+	}
+
 	/**
 	 * Adds a named image to the kernel.
 	 * 
@@ -27,15 +58,32 @@ public class Images {
 	 * @param region the image's texture region.
 	 */
 	public void add(String name, TextureRegion region) {
-		sounds.put(name, new Image(this, name, region));
+		add(name, region, 1.0f);
+	}
+
+	/**
+	 * Adds a named image to the kernel whose texture region is at a different resolution to the virtual pixels that it
+	 * is drawn in.
+	 * 
+	 * @param name the name of the image being added.
+	 * @param region the image's texture region.
+	 * @param scale the region's resolution relative to virtual pixels, eg, 0.5 for a half-resolution region.
+	 */
+	public void add(String name, TextureRegion region, float scale) {
+		Image image = images.get(name);
+		if (image != null && !image.isReady()) {
+			image.resolve(region, scale);
+		} else {
+			images.put(name, new Image(this, name, region, scale));
+		}
 	}
 
 	/**
-	 * Disposes of a sound.
+	 * Disposes of an image.
 	 * 
-	 * @param name the sound that is being disposed.
+	 * @param name the image that is being disposed.
 	 */
 	public void dispose(String name) {
-		sounds.remove(name);
+		images.remove(name);
 	}
 }
@@ -1,6 +1,11 @@
 package ldtk;
 
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -16,6 +21,8 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 public class Kernel implements ApplicationListener {
 
 	private static final String TAG = "Kernel";
+	private static final int DEFAULT_LOAD_BUDGET_MILLIS = 8;
+	private static final float DEFAULT_FRAME_SECONDS = 1 / 60.0f;
 
 	/**
 	 * A time source available to all LDTK-based programs.
@@ -56,9 +63,48 @@ public class Kernel implements ApplicationListener {
 	 * The means by which client code can load and unload groups of assets.
 	 */
 	public static Assets assets;
+
+	/**
+	 * A frame profiler, disabled by default, that times each phase of the kernel's frame.
+	 */
+	public static Profiler profiler;
+
+	/**
+	 * The means by which client code can spread heavy work across frames.
+	 */
+	public static Scheduler scheduler;
+
+	/**
+	 * A deferred render queue, disabled by default, that sorts each frame's drawing to minimise texture switches.
+	 */
+	public static RenderQueue renderQueue;
 	
 	private StateSelector stateSelector;
 	private State currentState;
+	private final List<State> suspendedStates = new ArrayList<State>();
+	private float fixedStep;
+	private int maxStepsPerFrame;
+	private float accumulator;
+	private float frameDelta;
+	private int loadBudgetMillis = DEFAULT_LOAD_BUDGET_MILLIS;
+	private boolean isThreaded;
+	private boolean isRenderingContinuous = true;
+	private boolean isReleasingAssetsOnPause;
+	private boolean isLoadingAssetsLazily;
+	private int packPageSize;
+	private String[] unpackedImages = new String[0];
+	private float[] textureVariantScales;
+	private long maxUploadBytes;
+	private boolean isQueueingDraws;
+	private final List<String> releasedPaths = new ArrayList<String>();
+	private final Set<String> releasedUnusedPaths = new HashSet<String>();
+	private UpdateThread updateThread;
+	private final Runnable updateTask = new Runnable() {
+		@Override
+		public void run() {
+			updateAndSnapshot();
+		}
+	};
 	
 	/**
 	 * Creates the LDTK kernel.
@@ -69,10 +115,153 @@ public class Kernel implements ApplicationListener {
 		this.stateSelector = stateSelector;
 	}
 
+	/**
+	 * Switches the kernel to a fixed timestep. Each frame's delta time is added to an accumulator and the current state
+	 * is updated once for every whole step in it, so Time.delta is always the step. At most maxStepsPerFrame updates
+	 * run in a frame; any time beyond that is dropped so that a long hitch doesn't cause a spiral of catch-up ticks.
+	 * Time.alpha is set to the fraction of a step left in the accumulator so that draw() can interpolate.
+	 * 
+	 * @param step the duration of a tick in seconds, eg, 1/60f.
+	 * @param maxStepsPerFrame the maximum number of ticks to run in a single frame.
+	 */
+	public void setFixedTimestep(float step, int maxStepsPerFrame) {
+		if (step <= 0 || maxStepsPerFrame < 1) {
+			throw new IllegalArgumentException("step must be > 0 and maxStepsPerFrame must be >= 1");
+		}
+		this.fixedStep = step;
+		this.maxStepsPerFrame = maxStepsPerFrame;
+		this.accumulator = 0;
+	}
+
+	/**
+	 * Switches the kernel back to its default variable timestep, where the current state is updated exactly once per
+	 * frame with the frame's delta time.
+	 */
+	public void setVariableTimestep() {
+		this.fixedStep = 0;
+		this.accumulator = 0;
+	}
+
+	/**
+	 * Returns true if the kernel is running with a fixed timestep.
+	 * 
+	 * @return true if the timestep is fixed.
+	 */
+	public boolean isFixedTimestep() {
+		return fixedStep > 0;
+	}
+
+	/**
+	 * Enables/disables threaded mode. In threaded mode the current state's update() for the next tick runs on a
+	 * worker thread while its draw() for the previous tick runs on the render thread, so draw() sees the world one
+	 * frame late. States must only draw what they have published through snapshot() and publish(), and must not touch
+	 * anything in update() that draw() writes, such as cameras. State transitions and the scheduler's tasks always run
+	 * on the render thread, while update() isn't running. With lazy assets, update() must not look up an image, font,
+	 * sound or tune that might not be loaded yet, as that would queue it on the worker thread while the render thread
+	 * loads. Such lookups throw an IllegalStateException, so make them when the state is entered.
+	 * 
+	 * @param isThreaded true to enable threaded mode, false to disable it.
+	 */
+	public void setThreaded(boolean isThreaded) {
+		this.isThreaded = isThreaded;
+	}
+
+	/**
+	 * Returns true if the kernel is in threaded mode.
+	 * 
+	 * @return true if threaded.
+	 */
+	public boolean isThreaded() {
+		return isThreaded;
+	}
+
+	/**
+	 * Sets how long, per frame, the kernel spends loading the assets that the next state needs while the current
+	 * state carries on running.
+	 * 
+	 * @param millis the time budget in milliseconds.
+	 */
+	public void setLoadBudget(int millis) {
+		this.loadBudgetMillis = millis;
+	}
+
+	/**
+	 * Enables/disables releasing unused assets when the game is paused. When enabled, pause() unloads every group of
+	 * assets that isn't used by the current state or a suspended state, ie, everything except the default assets, the
+	 * paths returned by their assetPaths() methods, and any path that is still acquired. On Android this means that
+	 * only the assets in use are reloaded when the GL context is restored, so the game comes back quickly. The released
+	 * groups are then reloaded in the background after resume(), exactly as if they had been queued. Groups that were
+	 * unused before the pause are unused again once they are reloaded, so they can still be evicted.
+	 * 
+	 * @param isReleasingAssetsOnPause true to release unused assets on pause, false to keep everything loaded.
+	 */
+	public void setReleaseAssetsOnPause(boolean isReleasingAssetsOnPause) {
+		this.isReleasingAssetsOnPause = isReleasingAssetsOnPause;
+	}
+
+	/**
+	 * Enables/disables lazy asset loading. When enabled, the kernel doesn't load the default assets at startup.
+	 * Instead, each image, font, sound or tune is loaded in the background the first time it is asked for, as
+	 * described in Assets.setLazy(). This needs an asset manifest; without one the default assets are loaded as usual.
+	 * It must be called before the kernel is started. In threaded mode, lazy lookups aren't allowed in update().
+	 * 
+	 * @param isLoadingAssetsLazily true to load assets lazily, false to load the default assets at startup.
+	 */
+	public void setLazyAssets(boolean isLoadingAssetsLazily) {
+		this.isLoadingAssetsLazily = isLoadingAssetsLazily;
+	}
+
+	/**
+	 * Enables packing of loose textures and font pages into shared pages, as described in Assets.setPacking(), so that
+	 * it applies to the default assets too. It must be called before the kernel is started.
+	 * 
+	 * @param pageSize the width and height of the shared pages, eg, 1024.
+	 * @param unpackedImages the names of textures that must not be packed, such as those that repeat.
+	 */
+	public void setTexturePacking(int pageSize, String... unpackedImages) {
+		this.packPageSize = pageSize;
+		this.unpackedImages = unpackedImages;
+	}
+
+	/**
+	 * Enables texture variants, as described in Assets.setTextureVariants(), so that textures are loaded at the
+	 * resolution that best suits the default camera on this device, or from ETC1 files where the device supports them.
+	 * It must be called before the kernel is started.
+	 * 
+	 * @param scales the scales of the variants that may exist, eg, 0.5f for half-resolution textures.
+	 */
+	public void setTextureVariants(float... scales) {
+		this.textureVariantScales = scales;
+	}
+
+	/**
+	 * Limits how much texture data is uploaded to the GPU per frame while assets load in the background, as described
+	 * in Assets.setUploadLimit(). The limit adapts to the frame time, aiming for the fixed step if there is one or 60
+	 * frames a second if not. It must be called before the kernel is started.
+	 * 
+	 * @param maxBytesPerFrame the most texture data to upload per frame, in bytes, eg, 2 * 1024 * 1024.
+	 */
+	public void setTextureUploadLimit(long maxBytesPerFrame) {
+		this.maxUploadBytes = maxBytesPerFrame;
+	}
+
+	/**
+	 * Enables/disables the deferred render queue, as described in RenderQueue, so that each frame's images, text and
+	 * vertices are sorted by layer, view and texture before they are drawn. It must be called before the kernel is
+	 * started. The queue can also be enabled or disabled later with Kernel.renderQueue.setEnabled().
+	 * 
+	 * @param isQueueingDraws true to defer and sort drawing, false to draw straight to the batch.
+	 */
+	public void setRenderQueue(boolean isQueueingDraws) {
+		this.isQueueingDraws = isQueueingDraws;
+	}
+
 	@Override
 	public void create() {
 		Gdx.app.log(TAG, "create()");
 		time = new Time();
+		profiler = new Profiler();
+		scheduler = new Scheduler();
 		cameras = new Cameras();
 		sounds = new Sounds();
 		images = new Images();
@@ -80,8 +269,22 @@ public class Kernel implements ApplicationListener {
 		tunes = new Tunes();
 		assets= new Assets(images, fonts, sounds, tunes);
 		batch = createSpriteBatch();
-		createCamera();
-		assets.loadDefaults();
+		renderQueue = new RenderQueue();
+		renderQueue.setEnabled(isQueueingDraws);
+		Camera camera = createCamera();
+		if (textureVariantScales != null) {
+			assets.setTextureVariants(camera.pixelScale(), textureVariantScales);
+		}
+		assets.setPacking(packPageSize);
+		assets.setUploadLimit(maxUploadBytes, isFixedTimestep() ? fixedStep : DEFAULT_FRAME_SECONDS);
+		for (String name : unpackedImages) {
+			assets.excludeFromPacking(name);
+		}
+		if (isLoadingAssetsLazily && assets.manifest() != null) {
+			assets.setLazy(true);
+		} else {
+			assets.loadDefaults();
+		}
 	}
 
 	protected Camera createCamera() {
@@ -96,49 +299,314 @@ public class Kernel implements ApplicationListener {
 
 	@Override
 	public void dispose() {
+		if (updateThread != null) {
+			updateThread.dispose();
+			updateThread = null;
+		}
 	}
 
 	@Override
 	public void render() {
-		Kernel.time.delta = Gdx.graphics.getDeltaTime();
-		Kernel.time.time += Kernel.time.delta;
+		frameDelta = Gdx.graphics.getDeltaTime();
 
-	    State nextState = stateSelector.select();
-	    if (currentState != nextState) {
-	    	if (currentState != null) {
-	    		currentState.exit();
-	    	}
-	    	if (nextState != null) {
-	    		nextState.enter();
-	    	}
-	        currentState = nextState;
-	    }
-	    if (currentState != null) {
-	    	currentState.update();
-	    }
+		if (assets.isLoading()) {
+			assets.update(loadBudgetMillis, frameDelta);
+		}
+		selectState();
+		if (!isRenderingContinuous) {
+			// The time since the last frame is just how long we sat idle, so don't catch up on it.
+			accumulator = 0;
+			if (!isIdle()) {
+				frameDelta = 0;
+			} else if (isFixedTimestep()) {
+				// This frame was rendered on demand, eg, for input, so run exactly one tick so that the state sees it.
+				frameDelta = fixedStep;
+			}
+		}
+		if (isThreaded) {
+			renderThreaded();
+			runTasks();
+		} else {
+			updateAndSnapshot();
+			runTasks();
+			publish();
+			draw();
+		}
+
+		profiler.endFrame(currentState, Kernel.batch);
+		updateRenderingMode();
+	}
+
+	private boolean isIdle() {
+		// A state that has asked to leave isn't idle, or the transition would wait for the next input event.
+		return currentState != null && currentState.isIdle() && stateSelector.select() == currentState
+				&& !assets.isLoading() && scheduler.pending() == 0;
+	}
+
+	private void updateRenderingMode() {
+		boolean shouldRenderContinuously = !isIdle();
+		if (shouldRenderContinuously != isRenderingContinuous) {
+			Gdx.graphics.setContinuousRendering(shouldRenderContinuously);
+			isRenderingContinuous = shouldRenderContinuously;
+		}
+	}
+
+	private void renderThreaded() {
+		// Draw what was published last frame while the next frame's update runs on the update thread.
+		publish();
+		if (updateThread == null) {
+			updateThread = new UpdateThread("ldtk-update");
+		}
+		updateThread.begin(updateTask);
+		try {
+			draw();
+		} finally {
+			updateThread.end();
+		}
+	}
+
+	private void updateAndSnapshot() {
+		if (isFixedTimestep()) {
+			updateFixed(frameDelta);
+		} else {
+			updateVariable(frameDelta);
+		}
+
+		if (currentState != null) {
+			currentState.snapshot();
+		}
+	}
+
+	/**
+	 * Runs the scheduler's tasks on the render thread, while the update thread is idle, as they may load assets or
+	 * create GL objects.
+	 */
+	private void runTasks() {
+		long start = profiler.start();
+		scheduler.run();
+		profiler.stop(Profiler.Phase.TASKS, start);
+	}
+
+	private void publish() {
+		if (currentState != null) {
+			currentState.publish();
+		}
+	}
 
+	private void draw() {
 		Kernel.batch.begin();
+		renderQueue.begin();
 
+		long start = profiler.start();
 		if (currentState != null) {
 			currentState.draw();
 		}
+		profiler.stop(Profiler.Phase.DRAW, start);
+		profiler.drawOverlay(currentState);
 		
+		start = profiler.start();
+		renderQueue.end();
 		Kernel.batch.end();
+		profiler.stop(Profiler.Phase.FLUSH, start);
+	}
+
+	private void selectState() {
+		long start = profiler.start();
+	    State nextState = stateSelector.select();
+	    profiler.stop(Profiler.Phase.SELECT, start);
+	    if (currentState != nextState && isReadyToEnter(nextState)) {
+	    	int suspendedIndex = suspendedStates.indexOf(nextState);
+	    	if (suspendedIndex >= 0) {
+	    		// Go back to a suspended state, exiting everything above it.
+	    		exitState(currentState);
+	    		while (suspendedStates.size() > suspendedIndex + 1) {
+	    			exitState(suspendedStates.remove(suspendedStates.size() - 1));
+	    		}
+	    		suspendedStates.remove(suspendedIndex);
+	    		resumeState(nextState);
+	    	} else if (nextState != null && nextState.isOverlay()) {
+	    		// Keep the current state warm underneath the overlay.
+	    		acquireAssets(nextState);
+	    		if (currentState != null) {
+	    			suspendState(currentState);
+	    			suspendedStates.add(currentState);
+	    		}
+	    		enterState(nextState);
+	    	} else {
+	    		// Acquire before exiting so that assets shared with the outgoing states aren't evicted in between.
+	    		acquireAssets(nextState);
+	    		exitState(currentState);
+	    		while (!suspendedStates.isEmpty()) {
+	    			exitState(suspendedStates.remove(suspendedStates.size() - 1));
+	    		}
+	    		enterState(nextState);
+	    	}
+	        currentState = nextState;
+	    }
+	}
+
+	private void enterState(State state) {
+		if (state != null) {
+			long start = profiler.start();
+			state.enter();
+			profiler.stop(state, Profiler.Phase.ENTER, start);
+			state.snapshot();
+		}
+	}
+
+	private void exitState(State state) {
+		if (state != null) {
+			long start = profiler.start();
+			state.exit();
+			profiler.stop(state, Profiler.Phase.EXIT, start);
+			for (String path : state.assetPaths()) {
+				assets.release(path);
+			}
+		}
+	}
+
+	private void acquireAssets(State state) {
+		if (state != null) {
+			for (String path : state.assetPaths()) {
+				assets.acquire(path);
+			}
+		}
+	}
+
+	private void suspendState(State state) {
+		long start = profiler.start();
+		state.suspend();
+		profiler.stop(state, Profiler.Phase.SUSPEND, start);
+	}
+
+	private void resumeState(State state) {
+		long start = profiler.start();
+		state.resume();
+		profiler.stop(state, Profiler.Phase.RESUME, start);
+		state.snapshot();
+	}
+
+	private boolean isReadyToEnter(State state) {
+		if (state == null) {
+			return true;
+		}
+		boolean isReady = true;
+		for (String path : state.assetPaths()) {
+			if (!assets.isLoaded(path)) {
+				assets.queue(path);
+				isReady = false;
+			}
+		}
+		if (!isReady && currentState == null) {
+			// There's no state to keep running while we wait, so just load everything now.
+			assets.finishLoading();
+			isReady = true;
+		}
+		return isReady;
+	}
+
+	private void updateVariable(float frameDelta) {
+		Kernel.time.delta = frameDelta;
+		Kernel.time.time += frameDelta;
+		Kernel.time.alpha = 1.0f;
+		tick();
+	}
+
+	private void updateFixed(float frameDelta) {
+		accumulator += frameDelta;
+		int steps = 0;
+		while (accumulator >= fixedStep && steps < maxStepsPerFrame) {
+			if (steps > 0 && !isThreaded) {
+				// A state may have asked for a transition during the previous tick. In threaded mode we're on the
+				// update thread, so that has to wait until the next frame.
+				selectState();
+			}
+			Kernel.time.delta = fixedStep;
+			Kernel.time.time += fixedStep;
+			tick();
+			accumulator -= fixedStep;
+			steps++;
+		}
+		if (accumulator >= fixedStep) {
+			// We've hit the cap, so drop the backlog rather than trying to catch up next frame.
+			accumulator %= fixedStep;
+		}
+		Kernel.time.alpha = accumulator / fixedStep;
+	}
+
+	private void tick() {
+	    if (currentState != null) {
+	    	long start = profiler.start();
+	    	currentState.update();
+	    	profiler.stop(Profiler.Phase.UPDATE, start);
+	    }
+	    Kernel.time.ticks++;
 	}
 
 	@Override
 	public void resize(int width, int height) {
 		Gdx.app.log(TAG, "resize()");
 		cameras.resize(width, height);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
 	public void pause() {
 		Gdx.app.log(TAG, "pause()");
+		if (isReleasingAssetsOnPause) {
+			releaseUnusedAssets();
+		}
 	}
 
 	@Override
 	public void resume() {
 		Gdx.app.log(TAG, "resume()");
+		restoreReleasedAssets();
+		Gdx.graphics.requestRendering();
+	}
+
+	private void releaseUnusedAssets() {
+		Set<String> usedPaths = usedAssetPaths();
+		for (String path : new ArrayList<String>(assets.loadedPaths())) {
+			if (!usedPaths.contains(path) && assets.referenceCount(path) == 0) {
+				Gdx.app.log(TAG, "Releasing " + path + ".");
+				if (assets.unusedPaths().contains(path)) {
+					releasedUnusedPaths.add(path);
+				}
+				assets.unload(path);
+				releasedPaths.add(path);
+			}
+		}
+	}
+
+	private void restoreReleasedAssets() {
+		// The assets in use were never released, so they're already back. Load everything else in the background.
+		for (String path : releasedPaths) {
+			if (releasedUnusedPaths.contains(path)) {
+				assets.queueUnused(path);
+			} else {
+				assets.queue(path);
+			}
+		}
+		releasedPaths.clear();
+		releasedUnusedPaths.clear();
+	}
+
+	private Set<String> usedAssetPaths() {
+		Set<String> usedPaths = new HashSet<String>();
+		usedPaths.add(Assets.DEFAULT_PATH);
+		if (currentState != null) {
+			addAll(usedPaths, currentState.assetPaths());
+		}
+		for (State state : suspendedStates) {
+			addAll(usedPaths, state.assetPaths());
+		}
+		return usedPaths;
+	}
+
+	private static void addAll(Set<String> paths, String[] morePaths) {
+		for (String path : morePaths) {
+			paths.add(path);
+		}
 	}
 }
@@ -0,0 +1,146 @@
+package ldtk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The shared texture pages that a path's loose textures and font pages have been packed into. Anything too big to
+ * share a page gets a texture of its own. The pages are managed textures that keep their pixmaps, so they survive the
+ * loss of the GL context. Pixmaps are added and pages are uploaded one at a time, so that the work can be spread
+ * across frames.
+ */
+class PackedGroup {
+
+	private static final int PADDING = 2;
+
+	private final int pageSize;
+	private final PixmapPacker packer;
+	private final List<String> packedNames = new ArrayList<String>();
+	private final List<Texture> textures = new ArrayList<Texture>();
+	private final List<Texture> pages = new ArrayList<Texture>();
+	private final Map<String, TextureRegion> standaloneRegions = new HashMap<String, TextureRegion>();
+	private long uploadedBytes;
+
+	PackedGroup(int pageSize) {
+		this.pageSize = pageSize;
+		this.packer = new PixmapPacker(pageSize, pageSize, Pixmap.Format.RGBA8888, PADDING, false);
+	}
+
+	/**
+	 * Adds a pixmap under the given key, returning true if it was packed into a shared page. A pixmap that is too big
+	 * to pack is uploaded to a texture of its own straight away, and must outlive it.
+	 */
+	boolean add(String key, Pixmap pixmap) {
+		if (pixmap.getWidth() > pageSize - 2 * PADDING || pixmap.getHeight() > pageSize - 2 * PADDING) {
+			standaloneRegions.put(key, new TextureRegion(createTexture(pixmap)));
+			return false;
+		}
+		packer.pack(key, pixmap);
+		packedNames.add(key);
+		return true;
+	}
+
+	/**
+	 * Returns true if the pixmap with the given key was packed into a shared page, rather than given a texture of its
+	 * own.
+	 */
+	boolean isShared(String key) {
+		return !standaloneRegions.containsKey(key);
+	}
+
+	/**
+	 * Uploads the next shared page, returning false if they have all been uploaded. Call this once everything has been
+	 * added. The packer always starts with a page, which isn't uploaded if nothing was packed into it.
+	 */
+	boolean uploadNextPage() {
+		if (packedNames.isEmpty() || pages.size() == packer.getPages().size) {
+			return false;
+		}
+		pages.add(createTexture(packer.getPages().get(pages.size()).getPixmap()));
+		return true;
+	}
+
+	/**
+	 * Returns the number of textures uploaded so far, including any that were too big to pack.
+	 */
+	int textureCount() {
+		return textures.size();
+	}
+
+	/**
+	 * Returns the total size of the textures uploaded so far.
+	 */
+	long uploadedBytes() {
+		return uploadedBytes;
+	}
+
+	/**
+	 * Returns the region that the pixmap with the given key ended up in, either in a shared page or in a texture of its
+	 * own. The shared pages must all have been uploaded.
+	 */
+	TextureRegion region(String key) {
+		TextureRegion standalone = standaloneRegions.get(key);
+		if (standalone != null) {
+			return standalone;
+		}
+		Rectangle rect = packer.getRect(key);
+		Texture page = pages.get(packer.getPageIndex(key));
+		return new TextureRegion(page, (int) rect.x, (int) rect.y, (int) rect.width, (int) rect.height);
+	}
+
+	/**
+	 * Creates a font from its data and the regions that its pages were packed into.
+	 */
+	static BitmapFont createFont(BitmapFontData data, TextureRegion[] pageRegions) {
+		BitmapFont font = new BitmapFont(data, pageRegions, false);
+		font.setUseIntegerPositions(false);
+		return font;
+	}
+
+	/**
+	 * Returns the number of textures that were replaced by shared pages, ie, how many fewer texture switches there can
+	 * be when drawing everything in this group.
+	 */
+	int texturesSaved() {
+		return packedNames.size() - pages.size();
+	}
+
+	/**
+	 * Returns the estimated memory used, counting both the textures and the pixmaps that are kept to restore them.
+	 */
+	long bytes() {
+		long bytes = 0;
+		for (Texture texture : textures) {
+			bytes += 2L * texture.getWidth() * texture.getHeight() * 4;
+		}
+		return bytes;
+	}
+
+	void dispose() {
+		for (Texture texture : textures) {
+			texture.dispose();
+		}
+		textures.clear();
+		pages.clear();
+		standaloneRegions.clear();
+		packer.dispose();
+	}
+
+	private Texture createTexture(Pixmap pixmap) {
+		Texture texture = new Texture(new PixmapTextureData(pixmap, pixmap.getFormat(), false, false, true));
+		textures.add(texture);
+		uploadedBytes += Assets.textureBytes(texture);
+		return texture;
+	}
+}
@@ -0,0 +1,283 @@
+package ldtk;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * A frame profiler, driven by the kernel, that times each phase of a frame in nanoseconds and keeps a rolling
+ * histogram of each phase for every class of state. It also records the sprite batch's counters for the last frame.
+ * The profiler is disabled by default, in which case it costs almost nothing.
+ */
+public class Profiler {
+
+	/**
+	 * The phases of a frame that are timed by the profiler.
+	 */
+	public enum Phase {
+		/** The call to StateSelector.select(). */
+		SELECT(false),
+		/** The call to State.enter(). */
+		ENTER(true),
+		/** The call to State.exit(). */
+		EXIT(true),
+		/** The call to State.suspend(). */
+		SUSPEND(true),
+		/** The call to State.resume(). */
+		RESUME(true),
+		/** The calls to State.update(). There may be zero or more per frame with a fixed timestep. */
+		UPDATE(false),
+		/** The deferred tasks run by the scheduler after the updates. */
+		TASKS(false),
+		/** The call to State.draw(). */
+		DRAW(false),
+		/** Sorting and submitting the render queue, if enabled, and the call to SpriteBatch.end(), which flushes the batch. */
+		FLUSH(false);
+
+		private final boolean isPerCall;
+
+		private Phase(boolean isPerCall) {
+			this.isPerCall = isPerCall;
+		}
+
+		/**
+		 * Returns true if this phase's histogram has a sample per call rather than a sample per frame.
+		 * 
+		 * @return true if sampled per call.
+		 */
+		public boolean isPerCall() {
+			return isPerCall;
+		}
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final int DEFAULT_WINDOW_SIZE = 300;
+	private static final int OVERLAY_REFRESH_FRAMES = 30;
+	private static final float NANOS_PER_MILLI = 1000000.0f;
+
+	private final int windowSize;
+	private final Map<Class<? extends State>, RollingHistogram[]> histograms;
+	private final long[] frameNanos;
+	private boolean isEnabled;
+	private Class<? extends State> lastStateClass;
+	private RollingHistogram[] lastHistograms;
+	private int renderCalls;
+	private int maxSpritesInBatch;
+	private Font overlayFont;
+	private Camera overlayCam;
+	private String[] overlayLines;
+	private int framesUntilOverlayRefresh;
+
+	/**
+	 * Creates a profiler whose histograms cover the last 300 frames.
+	 */
+	public Profiler() {
+		this(DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a profiler whose histograms cover the given number of frames.
+	 *
+	 * @param windowSize the number of frames in each rolling histogram.
+	 */
+	public Profiler(int windowSize) {
+		this.windowSize = windowSize;
+		this.histograms = new HashMap<Class<? extends State>, RollingHistogram[]>();
+		this.frameNanos = new long[PHASES.length];
+		this.overlayLines = new String[0];
+	}
+
+	/**
+	 * Returns true if the profiler is enabled.
+	 *
+	 * @return true if enabled.
+	 */
+	public boolean isEnabled() {
+		return isEnabled;
+	}
+
+	/**
+	 * Enables/disables the profiler.
+	 *
+	 * @param isEnabled true to enable the profiler, false to disable it.
+	 */
+	public void setEnabled(boolean isEnabled) {
+		this.isEnabled = isEnabled;
+	}
+
+	/**
+	 * Shows an overlay in the top left of the screen with the profile of the current state, drawn in the given font.
+	 * Showing the overlay enables the profiler.
+	 *
+	 * @param font the font, eg, Kernel.fonts.get("fonts/consolas32").
+	 */
+	public void showOverlay(Font font) {
+		this.overlayFont = font;
+		this.framesUntilOverlayRefresh = 0;
+		setEnabled(true);
+	}
+
+	/**
+	 * Hides the overlay. The profiler remains enabled.
+	 */
+	public void hideOverlay() {
+		this.overlayFont = null;
+		if (overlayCam != null) {
+			overlayCam.dispose();
+			overlayCam = null;
+		}
+	}
+
+	/**
+	 * Returns the classes of the states that have been profiled.
+	 *
+	 * @return the profiled state classes.
+	 */
+	public Set<Class<? extends State>> states() {
+		return histograms.keySet();
+	}
+
+	/**
+	 * Returns the histogram of the given phase for the given class of state. Samples are in nanoseconds per frame,
+	 * except for phases such as ENTER and EXIT, which have a sample per call.
+	 *
+	 * @param stateClass the class of state, eg, Playing.class.
+	 * @param phase the phase.
+	 * @return the histogram, or null if that class of state hasn't been profiled.
+	 */
+	public RollingHistogram histogram(Class<? extends State> stateClass, Phase phase) {
+		RollingHistogram[] phases = histograms.get(stateClass);
+		return phases != null ? phases[phase.ordinal()] : null;
+	}
+
+	/**
+	 * Returns the number of render calls made by the sprite batch in the last frame.
+	 *
+	 * @return the number of render calls.
+	 */
+	public int renderCalls() {
+		return renderCalls;
+	}
+
+	/**
+	 * Returns the largest number of sprites that the sprite batch has had in a single batch.
+	 *
+	 * @return the maximum number of sprites in a batch.
+	 */
+	public int maxSpritesInBatch() {
+		return maxSpritesInBatch;
+	}
+
+	/**
+	 * Discards everything that has been profiled so far.
+	 */
+	public void reset() {
+		histograms.clear();
+		lastStateClass = null;
+		lastHistograms = null;
+	}
+
+	long start() {
+		return isEnabled ? System.nanoTime() : 0;
+	}
+
+	void stop(Phase phase, long start) {
+		if (isEnabled) {
+			frameNanos[phase.ordinal()] += System.nanoTime() - start;
+		}
+	}
+
+	void stop(State state, Phase phase, long start) {
+		if (isEnabled && state != null) {
+			histogramsFor(state)[phase.ordinal()].add(System.nanoTime() - start);
+		}
+	}
+
+	void endFrame(State state, SpriteBatch batch) {
+		if (!isEnabled) {
+			return;
+		}
+		renderCalls = batch.renderCalls;
+		maxSpritesInBatch = batch.maxSpritesInBatch;
+		if (state != null) {
+			RollingHistogram[] phases = histogramsFor(state);
+			for (Phase phase : PHASES) {
+				if (!phase.isPerCall()) {
+					phases[phase.ordinal()].add(frameNanos[phase.ordinal()]);
+				}
+			}
+		}
+		for (int i = 0; i < frameNanos.length; i++) {
+			frameNanos[i] = 0;
+		}
+	}
+
+	void drawOverlay(State state) {
+		if (!isEnabled || overlayFont == null) {
+			return;
+		}
+		if (overlayCam == null) {
+			overlayCam = Kernel.cameras.create("ldtk.profiler");
+		}
+		if (--framesUntilOverlayRefresh <= 0) {
+			overlayLines = createOverlayLines(state);
+			framesUntilOverlayRefresh = OVERLAY_REFRESH_FRAMES;
+		}
+
+		// Keep the overlay above everything else if the render queue is sorting the frame.
+		int layer = Kernel.renderQueue.layer();
+		Kernel.renderQueue.setLayer(RenderQueue.TOP_LAYER);
+		overlayCam.activate();
+		float x = -overlayCam.width() / 2;
+		float y = overlayCam.height() / 2;
+		for (String line : overlayLines) {
+			y -= overlayFont.height();
+			overlayFont.draw(line, x, y, Color.YELLOW);
+		}
+		Kernel.renderQueue.setLayer(layer);
+	}
+
+	private String[] createOverlayLines(State state) {
+		if (state == null) {
+			return new String[0];
+		}
+		RollingHistogram[] stateHistograms = histogramsFor(state);
+		String[] lines = new String[PHASES.length + 3];
+		lines[0] = state.getClass().getSimpleName() + " (ms: p50 p95 p99 max)";
+		for (Phase phase : PHASES) {
+			RollingHistogram histogram = stateHistograms[phase.ordinal()];
+			lines[phase.ordinal() + 1] = String.format("%-6s %6.2f %6.2f %6.2f %6.2f", phase,
+					histogram.p50() / NANOS_PER_MILLI, histogram.p95() / NANOS_PER_MILLI,
+					histogram.p99() / NANOS_PER_MILLI, histogram.max() / NANOS_PER_MILLI);
+		}
+		lines[PHASES.length + 1] = "renderCalls " + renderCalls + " maxSpritesInBatch " + maxSpritesInBatch
+				+ " vertexBytes " + Kernel.renderQueue.vertexBytes();
+		if (Kernel.renderQueue.isEnabled()) {
+			lines[PHASES.length + 1] += " queue flushes " + Kernel.renderQueue.unsortedFlushes() + " -> "
+					+ Kernel.renderQueue.sortedFlushes();
+		}
+		lines[PHASES.length + 2] = String.format("tasks %d used %.2f/%.2f ms", Kernel.scheduler.pending(),
+				Kernel.scheduler.used(), Kernel.scheduler.budget());
+		return lines;
+	}
+
+	private RollingHistogram[] histogramsFor(State state) {
+		Class<? extends State> stateClass = state.getClass();
+		if (stateClass != lastStateClass) {
+			RollingHistogram[] phases = histograms.get(stateClass);
+			if (phases == null) {
+				phases = new RollingHistogram[PHASES.length];
+				for (int i = 0; i < phases.length; i++) {
+					phases[i] = new RollingHistogram(windowSize);
+				}
+				histograms.put(stateClass, phases);
+			}
+			lastStateClass = stateClass;
+			lastHistograms = phases;
+		}
+		return lastHistograms;
+	}
+}
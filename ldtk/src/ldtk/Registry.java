@@ -0,0 +1,63 @@
+package ldtk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A table of named things, each of which is also given a handle - an index into an array - the first time its name is
+ * seen. Handles are never reused, so a handle stays valid for the lifetime of the table, even if the thing it refers
+ * to is removed and added again. Looking something up by handle is just an array access.
+ */
+class Registry<T> {
+
+	private final Map<String, Integer> handles = new HashMap<String, Integer>();
+	private Object[] items = new Object[16];
+	private int size;
+
+	/**
+	 * Returns the handle for the given name, creating it if necessary.
+	 */
+	int handle(String name) {
+		Integer handle = handles.get(name);
+		if (handle == null) {
+			if (size == items.length) {
+				Object[] newItems = new Object[size * 2];
+				System.arraycopy(items, 0, newItems, 0, size);
+				items = newItems;
+			}
+			handle = size++;
+			handles.put(name, handle);
+		}
+		return handle;
+	}
+
+	@SuppressWarnings("unchecked")
+	T get(int handle) {
+		return (T) items[handle];
+	}
+
+	T get(String name) {
+		Integer handle = handles.get(name);
+		return handle != null ? get(handle) : null;
+	}
+
+	void put(String name, T item) {
+		// Get the handle first as it may grow the array.
+		int handle = handle(name);
+		items[handle] = item;
+	}
+
+	void remove(String name) {
+		Integer handle = handles.get(name);
+		if (handle != null) {
+			items[handle] = null;
+		}
+	}
+
+	/**
+	 * Returns the number of handles, some of which may refer to nothing.
+	 */
+	int size() {
+		return size;
+	}
+}
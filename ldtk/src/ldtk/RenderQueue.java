@@ -0,0 +1,631 @@
+package ldtk;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A deferred render queue, disabled by default, that sits in front of the kernel's sprite batch. While it is enabled,
+ * images, fonts, raw vertices and static meshes aren't drawn to the batch straight away. Instead, each draw is recorded
+ * as a command with a sort key made of its layer, its camera view, its texture and its sequence number. When the
+ * frame's drawing is finished the kernel sorts the commands with an allocation-free radix sort and submits them to the
+ * batch, so that everything in the same layer and view that uses the same texture is drawn together, in the order it
+ * was recorded, without flushing the batch in between. While the queue is disabled, everything is passed straight
+ * through to the batch.
+ *
+ * Within a layer, things with different textures may be drawn in a different order from the one they were recorded in,
+ * so things that overlap and whose order matters should be drawn in different layers. Layers are drawn in ascending
+ * order, and views in the order that they were first used.
+ *
+ * The queue only defers drawing that goes through it. Anything drawn directly to the batch, or to GL, while the queue
+ * is recording happens before everything in the queue.
+ */
+public class RenderQueue {
+
+	/**
+	 * The layer that everything is drawn in unless another layer is chosen.
+	 */
+	public static final int DEFAULT_LAYER = 0;
+
+	/**
+	 * The highest layer, which is drawn above all others, eg, by the profiler's overlay.
+	 */
+	public static final int TOP_LAYER = 255;
+
+	private static final int VERTICES_PER_QUAD = 20;
+	private static final int MAX_VIEWS = 256;
+	private static final int MAX_TEXTURES = 0x10000;
+	private static final int INITIAL_COMMANDS = 256;
+	private static final int INITIAL_VERTICES = INITIAL_COMMANDS * VERTICES_PER_QUAD;
+	private static final int INITIAL_VIEWS = 8;
+	private static final int INITIAL_TEXTURES = 16;
+	private static final int SCISSOR_UNCHANGED = -1;
+	private static final int SCISSOR_DISABLED = 0;
+	private static final int SCISSOR_ENABLED = 1;
+
+	private boolean isEnabled;
+	private boolean isRecording;
+	private int layer = DEFAULT_LAYER;
+
+	// The commands, with the command's index in the low 32 bits of its key.
+	private long[] keys = new long[INITIAL_COMMANDS];
+	private long[] sortedKeys = new long[INITIAL_COMMANDS];
+	private int[] offsets = new int[INITIAL_COMMANDS];
+	private int[] counts = new int[INITIAL_COMMANDS];
+	private StaticMesh[] meshes = new StaticMesh[INITIAL_COMMANDS];
+	private int commandCount;
+	private final int[] buckets = new int[256];
+
+	// The vertices of every command.
+	private float[] vertices = new float[INITIAL_VERTICES];
+	private int vertexCount;
+
+	// The textures and views used so far this frame, indexed by the numbers in the keys.
+	private Texture[] textures = new Texture[INITIAL_TEXTURES];
+	private int textureCount;
+	private int lastTexture = -1;
+	private Matrix4[] views = new Matrix4[INITIAL_VIEWS];
+	private int[] scissorModes = new int[INITIAL_VIEWS];
+	private int[] scissors = new int[INITIAL_VIEWS * 4];
+	private int viewCount;
+
+	// A copy of the view being recorded, kept while everything recorded so far is submitted to make room.
+	private final Matrix4 keptView = new Matrix4();
+	private final int[] keptScissor = new int[4];
+
+	// The view that draws are recorded in, and the view and texture of the last draw, in recording order.
+	private int recordingView;
+	private int unsortedView;
+	private int unsortedTexture;
+	private int unsortedFlushes;
+	private int sortedFlushes;
+	private int lastUnsortedFlushes;
+	private int lastSortedFlushes;
+	private long vertexBytes;
+	private long lastVertexBytes;
+
+	RenderQueue() {
+	}
+
+	/**
+	 * Returns true if the queue is enabled.
+	 *
+	 * @return true if enabled.
+	 */
+	public boolean isEnabled() {
+		return isEnabled;
+	}
+
+	/**
+	 * Enables/disables the queue. The change takes effect from the next frame.
+	 *
+	 * @param isEnabled true to defer and sort drawing, false to draw straight to the batch.
+	 */
+	public void setEnabled(boolean isEnabled) {
+		this.isEnabled = isEnabled;
+	}
+
+	/**
+	 * Returns true if draws are currently being recorded rather than passed straight through to the batch.
+	 *
+	 * @return true if recording.
+	 */
+	public boolean isRecording() {
+		return isRecording;
+	}
+
+	/**
+	 * Returns the layer that draws are currently recorded in.
+	 *
+	 * @return the layer.
+	 */
+	public int layer() {
+		return layer;
+	}
+
+	/**
+	 * Sets the layer that subsequent draws are recorded in. The layer goes back to DEFAULT_LAYER at the start of each
+	 * frame.
+	 *
+	 * @param layer the layer, from 0 to TOP_LAYER. Higher layers are drawn above lower ones.
+	 */
+	public void setLayer(int layer) {
+		if (layer < 0 || layer > TOP_LAYER) {
+			throw new IllegalArgumentException("layer must be between 0 and " + TOP_LAYER);
+		}
+		this.layer = layer;
+	}
+
+	/**
+	 * Returns the number of times that the batch would have been flushed last frame had the queued draws been
+	 * submitted in the order they were recorded, counting each change of texture or view.
+	 *
+	 * @return the number of flushes before sorting.
+	 */
+	public int unsortedFlushes() {
+		return lastUnsortedFlushes;
+	}
+
+	/**
+	 * Returns the number of times that the batch was flushed last frame when the sorted draws were submitted, counting
+	 * each change of texture or view.
+	 *
+	 * @return the number of flushes after sorting.
+	 */
+	public int sortedFlushes() {
+		return lastSortedFlushes;
+	}
+
+	/**
+	 * Returns the number of bytes of vertices that were copied into the batch last frame by draws through the queue,
+	 * whether or not it is enabled. Static meshes copy none.
+	 *
+	 * @return the number of bytes.
+	 */
+	public long vertexBytes() {
+		return lastVertexBytes;
+	}
+
+	/**
+	 * Draws a region to the given rectangle.
+	 *
+	 * @param region the region.
+	 * @param x the x coordinate of the bottom left of the rectangle.
+	 * @param y the y coordinate of the bottom left of the rectangle.
+	 * @param width the width of the rectangle.
+	 * @param height the height of the rectangle.
+	 */
+	public void draw(TextureRegion region, float x, float y, float width, float height) {
+		if (!isRecording) {
+			Kernel.batch.draw(region, x, y, width, height);
+			vertexBytes += VERTICES_PER_QUAD * 4;
+			return;
+		}
+		float[] v = reserve(region.getTexture(), VERTICES_PER_QUAD);
+		int i = vertexCount - VERTICES_PER_QUAD;
+		float x2 = x + width;
+		float y2 = y + height;
+		quad(v, i, x, y, x, y2, x2, y2, x2, y, Kernel.batch.getColor().toFloatBits(), region);
+	}
+
+	/**
+	 * Draws a region to the given rectangle, rotated anti-clockwise around the given origin.
+	 *
+	 * @param region the region.
+	 * @param x the x coordinate of the bottom left of the rectangle.
+	 * @param y the y coordinate of the bottom left of the rectangle.
+	 * @param originX the x coordinate of the origin, relative to the bottom left of the rectangle.
+	 * @param originY the y coordinate of the origin, relative to the bottom left of the rectangle.
+	 * @param width the width of the rectangle.
+	 * @param height the height of the rectangle.
+	 * @param ccwDegrees the angle of rotation anti-clockwise around the origin in degrees.
+	 */
+	public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+			float ccwDegrees) {
+		if (!isRecording) {
+			Kernel.batch.draw(region, x, y, originX, originY, width, height, 1.0f, 1.0f, ccwDegrees);
+			vertexBytes += VERTICES_PER_QUAD * 4;
+			return;
+		}
+		float[] v = reserve(region.getTexture(), VERTICES_PER_QUAD);
+		int i = vertexCount - VERTICES_PER_QUAD;
+
+		// The corners relative to the origin, rotated around it, then moved back to the world.
+		float worldOriginX = x + originX;
+		float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+		float cos = MathUtils.cosDeg(ccwDegrees);
+		float sin = MathUtils.sinDeg(ccwDegrees);
+		float x1 = cos * fx - sin * fy + worldOriginX;
+		float y1 = sin * fx + cos * fy + worldOriginY;
+		float x2 = cos * fx - sin * fy2 + worldOriginX;
+		float y2 = sin * fx + cos * fy2 + worldOriginY;
+		float x3 = cos * fx2 - sin * fy2 + worldOriginX;
+		float y3 = sin * fx2 + cos * fy2 + worldOriginY;
+		float x4 = x1 + (x3 - x2);
+		float y4 = y3 - (y2 - y1);
+		quad(v, i, x1, y1, x2, y2, x3, y3, x4, y4, Kernel.batch.getColor().toFloatBits(), region);
+	}
+
+	/**
+	 * Draws quads from an array of vertices, exactly as SpriteBatch.draw(Texture, float[], int, int) does. The vertices
+	 * are copied, so the array can be changed as soon as this returns.
+	 *
+	 * @param texture the texture.
+	 * @param spriteVertices the vertices, 20 floats per quad: x, y, colour, u and v for each corner.
+	 * @param offset the index of the first vertex to draw.
+	 * @param count the number of floats to draw, which must be a multiple of 20.
+	 */
+	public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+		if (!isRecording) {
+			Kernel.batch.draw(texture, spriteVertices, offset, count);
+			vertexBytes += count * 4;
+			return;
+		}
+		if (count <= 0) {
+			return;
+		}
+		float[] v = reserve(texture, count);
+		System.arraycopy(spriteVertices, offset, v, vertexCount - count, count);
+	}
+
+	/**
+	 * Draws a run of a static mesh's quads. Use StaticMesh.draw() rather than calling this directly.
+	 *
+	 * @param mesh the mesh.
+	 * @param firstQuad the index of the first quad to draw.
+	 * @param count the number of quads to draw.
+	 */
+	void draw(StaticMesh mesh, int firstQuad, int count) {
+		if (!isRecording) {
+			mesh.render(Kernel.batch, firstQuad, count);
+			return;
+		}
+		int command = addCommand(mesh.texture(), mesh);
+		offsets[command] = firstQuad;
+		counts[command] = count;
+	}
+
+	/**
+	 * Starts recording, if the queue is enabled. The view starts out as whatever the batch's projection is.
+	 */
+	void begin() {
+		layer = DEFAULT_LAYER;
+		vertexBytes = 0;
+		if (!isEnabled) {
+			return;
+		}
+		isRecording = true;
+		unsortedFlushes = 0;
+		sortedFlushes = 0;
+		reset();
+	}
+
+	/**
+	 * Records that a camera's view applies to subsequent draws, instead of changing the batch's projection.
+	 *
+	 * @param projection the camera's combined matrix.
+	 * @param scissor the camera's scissor rectangle in screen pixels, or null if it isn't scissored.
+	 */
+	void setView(Matrix4 projection, Rectangle scissor) {
+		int mode = scissor != null ? SCISSOR_ENABLED : SCISSOR_DISABLED;
+		int scissorX = scissor != null ? (int) scissor.x : 0;
+		int scissorY = scissor != null ? (int) scissor.y : 0;
+		int scissorWidth = scissor != null ? (int) (scissor.width + 0.5f) : 0;
+		int scissorHeight = scissor != null ? (int) (scissor.height + 0.5f) : 0;
+
+		// Moving a camera to where it already is, or activating one that matches, doesn't need a view of its own.
+		int current = recordingView;
+		if (scissorModes[current] == mode && scissors[current * 4] == scissorX && scissors[current * 4 + 1] == scissorY
+				&& scissors[current * 4 + 2] == scissorWidth && scissors[current * 4 + 3] == scissorHeight
+				&& isSame(views[current].val, projection.val)) {
+			return;
+		}
+		if (viewCount == MAX_VIEWS) {
+			submit();
+			reset();
+		}
+		recordingView = addView(projection, mode);
+		int i = recordingView * 4;
+		scissors[i] = scissorX;
+		scissors[i + 1] = scissorY;
+		scissors[i + 2] = scissorWidth;
+		scissors[i + 3] = scissorHeight;
+	}
+
+	/**
+	 * Stops recording, then sorts and submits everything that was recorded to the batch, which must still be drawing.
+	 */
+	void end() {
+		if (!isRecording) {
+			lastVertexBytes = vertexBytes;
+			return;
+		}
+		submit();
+		isRecording = false;
+		lastUnsortedFlushes = unsortedFlushes;
+		lastSortedFlushes = sortedFlushes;
+		lastVertexBytes = vertexBytes;
+
+		// Don't hold on to the frame's textures.
+		for (int i = 0; i < textureCount; i++) {
+			textures[i] = null;
+		}
+		textureCount = 0;
+	}
+
+	private void reset() {
+		commandCount = 0;
+		vertexCount = 0;
+		for (int i = 0; i < textureCount; i++) {
+			textures[i] = null;
+		}
+		textureCount = 0;
+		lastTexture = -1;
+		viewCount = 0;
+		recordingView = addView(Kernel.batch.getProjectionMatrix(), SCISSOR_UNCHANGED);
+		unsortedView = -1;
+		unsortedTexture = -1;
+	}
+
+	/**
+	 * Submits everything recorded so far and starts again, carrying on recording with the same view. Submitting leaves
+	 * the batch with whichever view came last in sorted order, so the view that is being recorded is added afresh,
+	 * along with its scissoring. A view that leaves the scissoring unchanged goes on doing so.
+	 */
+	private void submitAndKeepView() {
+		int view = recordingView;
+		keptView.set(views[view]);
+		int mode = scissorModes[view];
+		System.arraycopy(scissors, view * 4, keptScissor, 0, 4);
+		submit();
+		reset();
+		recordingView = addView(keptView, mode);
+		System.arraycopy(keptScissor, 0, scissors, recordingView * 4, 4);
+	}
+
+	/**
+	 * Adds a command for the given texture and number of vertices, returning the vertex array to write them into, at
+	 * vertexCount - count.
+	 */
+	private float[] reserve(Texture texture, int count) {
+		int command = addCommand(texture, null);
+		if (vertexCount + count > vertices.length) {
+			float[] grown = new float[Math.max(vertices.length * 2, vertexCount + count)];
+			System.arraycopy(vertices, 0, grown, 0, vertexCount);
+			vertices = grown;
+		}
+		offsets[command] = vertexCount;
+		counts[command] = count;
+		vertexCount += count;
+		return vertices;
+	}
+
+	/**
+	 * Adds a command, submitting everything recorded so far first if the texture table is full, and returns its index.
+	 * The caller fills in its offset and count.
+	 */
+	private int addCommand(Texture texture, StaticMesh mesh) {
+		int textureIndex = textureIndex(texture);
+		if (textureIndex == MAX_TEXTURES) {
+			submitAndKeepView();
+			textureIndex = textureIndex(texture);
+		}
+		if (commandCount == keys.length) {
+			int capacity = keys.length * 2;
+			keys = copyOf(keys, capacity);
+			sortedKeys = new long[capacity];
+			offsets = copyOf(offsets, capacity);
+			counts = copyOf(counts, capacity);
+			StaticMesh[] grown = new StaticMesh[capacity];
+			System.arraycopy(meshes, 0, grown, 0, commandCount);
+			meshes = grown;
+		}
+
+		if (mesh != null || recordingView != unsortedView || textureIndex != unsortedTexture) {
+			unsortedFlushes++;
+			unsortedView = recordingView;
+			// A static mesh is drawn between flushes of its own, so whatever follows it starts a new flush too.
+			unsortedTexture = mesh != null ? -1 : textureIndex;
+		}
+
+		int command = commandCount++;
+		keys[command] = ((long) layer << 56) | ((long) recordingView << 48) | ((long) textureIndex << 32) | command;
+		meshes[command] = mesh;
+		return command;
+	}
+
+	/**
+	 * Returns the index of the given texture in this frame's texture table, adding it if it isn't there, or
+	 * MAX_TEXTURES if the table is full. Most draws use the same texture as the draw before them, so that is tried
+	 * first.
+	 */
+	private int textureIndex(Texture texture) {
+		if (lastTexture >= 0 && textures[lastTexture] == texture) {
+			return lastTexture;
+		}
+		for (int i = 0; i < textureCount; i++) {
+			if (textures[i] == texture) {
+				lastTexture = i;
+				return i;
+			}
+		}
+		if (textureCount == MAX_TEXTURES) {
+			return MAX_TEXTURES;
+		}
+		if (textureCount == textures.length) {
+			Texture[] grown = new Texture[textures.length * 2];
+			System.arraycopy(textures, 0, grown, 0, textureCount);
+			textures = grown;
+		}
+		textures[textureCount] = texture;
+		lastTexture = textureCount;
+		return textureCount++;
+	}
+
+	private int addView(Matrix4 projection, int scissorMode) {
+		if (viewCount == views.length) {
+			Matrix4[] grown = new Matrix4[views.length * 2];
+			System.arraycopy(views, 0, grown, 0, viewCount);
+			views = grown;
+			scissorModes = copyOf(scissorModes, grown.length);
+			scissors = copyOf(scissors, grown.length * 4);
+		}
+		if (views[viewCount] == null) {
+			views[viewCount] = new Matrix4();
+		}
+		views[viewCount].set(projection);
+		scissorModes[viewCount] = scissorMode;
+		return viewCount++;
+	}
+
+	/**
+	 * Sorts the commands recorded so far and draws them to the batch.
+	 */
+	private void submit() {
+		if (commandCount == 0) {
+			return;
+		}
+		long[] sorted = sort();
+		SpriteBatch batch = Kernel.batch;
+		int currentView = -1;
+		int currentTexture = -1;
+		boolean isDrawingMeshes = false;
+		for (int i = 0; i < commandCount; i++) {
+			long key = sorted[i];
+			int command = (int) key;
+			int view = (int) (key >>> 48) & 0xff;
+			int texture = (int) (key >>> 32) & 0xffff;
+			if (view != currentView) {
+				applyView(batch, view);
+			}
+			StaticMesh mesh = meshes[command];
+			if (mesh != null || view != currentView || texture != currentTexture) {
+				sortedFlushes++;
+				currentView = view;
+				currentTexture = mesh != null ? -1 : texture;
+			}
+			if (mesh != null && mesh.isBuffered()) {
+				// Consecutive static meshes are drawn without resuming the batch in between.
+				if (!isDrawingMeshes) {
+					StaticMesh.begin(batch);
+					isDrawingMeshes = true;
+				}
+				mesh.renderBetween(batch, offsets[command], counts[command]);
+			} else {
+				if (isDrawingMeshes) {
+					StaticMesh.end(batch);
+					isDrawingMeshes = false;
+				}
+				if (mesh != null) {
+					mesh.render(batch, offsets[command], counts[command]);
+				} else {
+					batch.draw(textures[texture], vertices, offsets[command], counts[command]);
+					vertexBytes += counts[command] * 4;
+				}
+			}
+			meshes[command] = null;
+		}
+		if (isDrawingMeshes) {
+			StaticMesh.end(batch);
+		}
+		commandCount = 0;
+		vertexCount = 0;
+		unsortedView = -1;
+		unsortedTexture = -1;
+	}
+
+	/**
+	 * Sorts the keys with a least significant digit radix sort of their upper 32 bits, a byte at a time. The keys are
+	 * recorded in sequence order and the sort is stable, so the sequence numbers in their lower 32 bits never need
+	 * sorting. Bytes that are the same in every key are skipped.
+	 *
+	 * @return the sorted keys.
+	 */
+	private long[] sort() {
+		long[] from = keys;
+		long[] to = sortedKeys;
+		long first = from[0];
+		long differing = 0;
+		for (int i = 1; i < commandCount; i++) {
+			differing |= from[i] ^ first;
+		}
+		int[] buckets = this.buckets;
+		for (int shift = 32; shift < 64; shift += 8) {
+			if (((differing >>> shift) & 0xff) == 0) {
+				continue;
+			}
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = 0;
+			}
+			for (int i = 0; i < commandCount; i++) {
+				buckets[(int) (from[i] >>> shift) & 0xff]++;
+			}
+			for (int i = 0, start = 0; i < buckets.length; i++) {
+				int count = buckets[i];
+				buckets[i] = start;
+				start += count;
+			}
+			for (int i = 0; i < commandCount; i++) {
+				long key = from[i];
+				to[buckets[(int) (key >>> shift) & 0xff]++] = key;
+			}
+			long[] swap = from;
+			from = to;
+			to = swap;
+		}
+		keys = to;
+		sortedKeys = from;
+		return from;
+	}
+
+	private void applyView(SpriteBatch batch, int view) {
+		// Changing the projection flushes what's already in the batch, so that is drawn with the old scissoring.
+		batch.setProjectionMatrix(views[view]);
+		int mode = scissorModes[view];
+		if (mode == SCISSOR_ENABLED) {
+			int i = view * 4;
+			Gdx.gl.glEnable(GL10.GL_SCISSOR_TEST);
+			Gdx.gl.glScissor(scissors[i], scissors[i + 1], scissors[i + 2], scissors[i + 3]);
+		} else if (mode == SCISSOR_DISABLED) {
+			Gdx.gl.glDisable(GL10.GL_SCISSOR_TEST);
+		}
+	}
+
+	private static void quad(float[] v, int i, float x1, float y1, float x2, float y2, float x3, float y3, float x4,
+			float y4, float color, TextureRegion region) {
+		float u = region.getU();
+		float v1 = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+		v[i] = x1;
+		v[i + 1] = y1;
+		v[i + 2] = color;
+		v[i + 3] = u;
+		v[i + 4] = v1;
+		v[i + 5] = x2;
+		v[i + 6] = y2;
+		v[i + 7] = color;
+		v[i + 8] = u;
+		v[i + 9] = v2;
+		v[i + 10] = x3;
+		v[i + 11] = y3;
+		v[i + 12] = color;
+		v[i + 13] = u2;
+		v[i + 14] = v2;
+		v[i + 15] = x4;
+		v[i + 16] = y4;
+		v[i + 17] = color;
+		v[i + 18] = u2;
+		v[i + 19] = v1;
+	}
+
+	private static boolean isSame(float[] a, float[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] != b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long[] copyOf(long[] array, int length) {
+		long[] copy = new long[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+
+	private static int[] copyOf(int[] array, int length) {
+		int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+}
@@ -0,0 +1,121 @@
+package ldtk;
+
+import java.util.Arrays;
+
+/**
+ * A histogram over a rolling window of the most recent samples. Adding a sample is cheap and never allocates. Any
+ * sorting needed to answer a percentile query is deferred until the query is made.
+ */
+public class RollingHistogram {
+
+	private final long[] samples;
+	private final long[] sorted;
+	private int count;
+	private int next;
+	private boolean isSortedDirty;
+
+	/**
+	 * Creates a histogram that remembers the given number of samples.
+	 * 
+	 * @param windowSize the number of samples in the rolling window.
+	 */
+	public RollingHistogram(int windowSize) {
+		this.samples = new long[windowSize];
+		this.sorted = new long[windowSize];
+	}
+
+	/**
+	 * Adds a sample, replacing the oldest one if the window is full.
+	 * 
+	 * @param sample the sample.
+	 */
+	public void add(long sample) {
+		samples[next] = sample;
+		next = (next + 1) % samples.length;
+		if (count < samples.length) {
+			count++;
+		}
+		isSortedDirty = true;
+	}
+
+	/**
+	 * Returns the number of samples in the window.
+	 * 
+	 * @return the number of samples.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Returns the given percentile of the samples in the window, or 0 if there are no samples.
+	 * 
+	 * @param percentile the percentile, from 0 to 100, eg, 95.
+	 * @return the sample at that percentile.
+	 */
+	public long percentile(float percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		sortIfDirty();
+		int index = (int) Math.ceil(percentile / 100.0f * count) - 1;
+		return sorted[Math.min(Math.max(index, 0), count - 1)];
+	}
+
+	/**
+	 * Returns the median of the samples in the window.
+	 * 
+	 * @return the 50th percentile.
+	 */
+	public long p50() {
+		return percentile(50);
+	}
+
+	/**
+	 * Returns the 95th percentile of the samples in the window.
+	 * 
+	 * @return the 95th percentile.
+	 */
+	public long p95() {
+		return percentile(95);
+	}
+
+	/**
+	 * Returns the 99th percentile of the samples in the window.
+	 * 
+	 * @return the 99th percentile.
+	 */
+	public long p99() {
+		return percentile(99);
+	}
+
+	/**
+	 * Returns the largest sample in the window, or 0 if there are no samples.
+	 * 
+	 * @return the largest sample.
+	 */
+	public long max() {
+		if (count == 0) {
+			return 0;
+		}
+		sortIfDirty();
+		return sorted[count - 1];
+	}
+
+	/**
+	 * Discards all samples.
+	 */
+	public void clear() {
+		count = 0;
+		next = 0;
+		isSortedDirty = false;
+	}
+
+	private void sortIfDirty() {
+		if (isSortedDirty) {
+			System.arraycopy(samples, 0, sorted, 0, count);
+			Arrays.sort(sorted, 0, count);
+			isSortedDirty = false;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package ldtk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs deferred tasks a slice at a time within a per-frame time budget. The kernel runs the scheduler once per frame
+ * on the render thread, after updating the current state and never while State.update() is running, even in threaded
+ * mode, so tasks may load assets and create GL objects. Tasks run in the order they were scheduled, and at least one
+ * slice runs every frame that there is work, even if the budget is tiny. Tasks may be scheduled and cancelled from
+ * any thread, eg, from update() on the update thread while draw() runs on the render thread.
+ */
+public class Scheduler {
+
+	private static final float DEFAULT_BUDGET_MILLIS = 4.0f;
+	private static final float NANOS_PER_MILLI = 1000000.0f;
+
+	private final List<Task> tasks;
+	private long budgetNanos;
+	private long usedNanos;
+	private int slicesRun;
+
+	/**
+	 * Creates a scheduler with a budget of 4ms per frame.
+	 */
+	public Scheduler() {
+		this.tasks = new ArrayList<Task>();
+		setBudget(DEFAULT_BUDGET_MILLIS);
+	}
+
+	/**
+	 * Schedules a task to run after any that are already pending.
+	 * 
+	 * @param task the task.
+	 */
+	public synchronized void schedule(Task task) {
+		tasks.add(task);
+	}
+
+	/**
+	 * Cancels a pending task.
+	 * 
+	 * @param task the task.
+	 */
+	public synchronized void cancel(Task task) {
+		tasks.remove(task);
+	}
+
+	/**
+	 * Sets how long the scheduler may spend running tasks each frame.
+	 * 
+	 * @param millis the time budget in milliseconds.
+	 */
+	public void setBudget(float millis) {
+		this.budgetNanos = (long) (millis * NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Returns how long the scheduler may spend running tasks each frame.
+	 * 
+	 * @return the time budget in milliseconds.
+	 */
+	public float budget() {
+		return budgetNanos / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Returns the number of tasks that haven't finished.
+	 * 
+	 * @return the number of pending tasks.
+	 */
+	public synchronized int pending() {
+		return tasks.size();
+	}
+
+	/**
+	 * Returns how long the scheduler spent running tasks in the last frame.
+	 * 
+	 * @return the time used in milliseconds.
+	 */
+	public float used() {
+		return usedNanos / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Returns the number of task slices that the scheduler ran in the last frame.
+	 * 
+	 * @return the number of slices.
+	 */
+	public int slicesRun() {
+		return slicesRun;
+	}
+
+	void run() {
+		usedNanos = 0;
+		slicesRun = 0;
+		long start = System.nanoTime();
+		while (true) {
+			Task task;
+			synchronized (this) {
+				if (tasks.isEmpty()) {
+					return;
+				}
+				task = tasks.get(0);
+			}
+			// Run the slice without holding the lock, so that it can schedule or cancel tasks of its own.
+			if (task.run()) {
+				cancel(task);
+			}
+			slicesRun++;
+			usedNanos = System.nanoTime() - start;
+			if (usedNanos >= budgetNanos) {
+				break;
+			}
+		}
+	}
+}
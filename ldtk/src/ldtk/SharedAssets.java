@@ -0,0 +1,128 @@
+package ldtk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+
+/**
+ * Keeps track of assets with identical content that are shared between paths, so that the asset manager loads each
+ * of them once and hands out the same texture or sound for every filename, counting references to it. Content is
+ * identified by the hashes in the manifest, so nothing is shared without one. Only single-file assets are shared. An
+ * atlas or a font's hash covers its descriptor but not the pages that it names relative to its own directory, so two
+ * identical descriptors can still draw with different pages. Music isn't shared, as each tune plays on its own.
+ *
+ * A shared asset's memory is counted against one of the paths that use it at a time, so the memory budget isn't
+ * charged twice.
+ */
+class SharedAssets {
+
+	private static final String TAG = "Assets";
+
+	private final Assets assets;
+	private final Map<String, SharedAsset> sharedAssetsByKey = new HashMap<String, SharedAsset>();
+	private final Map<String, SharedAsset> sharedAssetsByFilename = new HashMap<String, SharedAsset>();
+
+	SharedAssets(Assets assets) {
+		this.assets = assets;
+	}
+
+	/**
+	 * Returns the filename of an asset with the same content and type that has already been given to the asset
+	 * manager, if there is one. Otherwise the given loaded filename is recorded for others to share, and returned.
+	 */
+	String share(String filename, String loadedFilename, Class<?> klass) {
+		AssetManifest manifest = assets.manifest();
+		if (manifest == null || (klass != Texture.class && klass != Sound.class)) {
+			return loadedFilename;
+		}
+		AssetManifest.Entry entry = manifest.entry(loadedFilename.substring(assets.getBasePath().length()));
+		if (entry == null) {
+			return loadedFilename;
+		}
+		String key = klass.getSimpleName() + ":" + entry.hash;
+		SharedAsset shared = sharedAssetsByKey.get(key);
+		if (shared == null) {
+			shared = new SharedAsset(key, loadedFilename);
+			sharedAssetsByKey.put(key, shared);
+			sharedAssetsByFilename.put(loadedFilename, shared);
+		} else if (!shared.filename.equals(loadedFilename)) {
+			Gdx.app.debug(TAG, "Sharing " + shared.filename + " for " + filename + ".");
+		}
+		shared.users++;
+		return shared.filename;
+	}
+
+	/**
+	 * Releases an asset that is being unloaded. If it is still shared, and its memory was counted against a path that
+	 * is no longer loaded, the memory is moved to another path that uses it.
+	 */
+	void release(String filename, String loadedFilename) {
+		SharedAsset shared = sharedAssetsByFilename.get(loadedFilename);
+		if (shared == null) {
+			return;
+		}
+		shared.paths.remove(filename);
+		if (--shared.users == 0) {
+			sharedAssetsByKey.remove(shared.key);
+			sharedAssetsByFilename.remove(loadedFilename);
+		} else if (shared.countedPath != null && !assets.isLoaded(shared.countedPath)) {
+			moveCount(shared);
+		}
+	}
+
+	/**
+	 * Returns true if an asset's memory should be counted against the path that is being loaded. An asset that is
+	 * shared between paths is only counted against one of them at a time, the first to be loaded.
+	 */
+	boolean countOnce(String path, String filename, String loadedFilename, long bytes) {
+		SharedAsset shared = sharedAssetsByFilename.get(loadedFilename);
+		if (shared == null) {
+			return true;
+		}
+		shared.paths.put(filename, path);
+		if (shared.countedPath != null) {
+			return false;
+		}
+		shared.countedPath = path;
+		shared.bytes = bytes;
+		return true;
+	}
+
+	/**
+	 * Moves a shared asset's memory from the path that it was counted against, which has been unloaded, to another
+	 * loaded path that still uses it. If there isn't one, it is counted against the next path to be loaded that uses
+	 * it.
+	 */
+	private void moveCount(SharedAsset shared) {
+		shared.countedPath = null;
+		for (String path : shared.paths.values()) {
+			if (assets.isLoaded(path)) {
+				shared.countedPath = path;
+				assets.countBytes(path, shared.bytes);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * An asset that is loaded once for every file with the same content and type.
+	 */
+	private static class SharedAsset {
+		final String key;
+		final String filename;
+		// The paths that have loaded it, by the filename that each loaded it as.
+		final Map<String, String> paths = new HashMap<String, String>();
+		int users;
+		// The path that its memory is counted against, and how much that is.
+		String countedPath;
+		long bytes;
+
+		SharedAsset(String key, String filename) {
+			this.key = key;
+			this.filename = filename;
+		}
+	}
+}
@@ -5,9 +5,11 @@ package ldtk;
  */
 public class Sound implements com.badlogic.gdx.audio.Sound {
 	
+	private static final com.badlogic.gdx.audio.Sound SILENCE = new Silence();
+
 	private final Sounds sounds;
 	private final String name;
-	private final com.badlogic.gdx.audio.Sound sound;
+	private com.badlogic.gdx.audio.Sound sound;
 
 	Sound(Sounds sounds, String name, com.badlogic.gdx.audio.Sound sound) {
 		this.sounds = sounds;
@@ -15,6 +17,26 @@ public class Sound implements com.badlogic.gdx.audio.Sound {
 		this.sound = sound;
 	}
 
+	/**
+	 * Creates a placeholder for a sound that is still loading. It is silent until it is resolved.
+	 */
+	Sound(Sounds sounds, String name) {
+		this(sounds, name, SILENCE);
+	}
+
+	void resolve(com.badlogic.gdx.audio.Sound sound) {
+		this.sound = sound;
+	}
+
+	/**
+	 * Returns true if this sound has loaded. Playing a sound that hasn't loaded yet does nothing and returns -1.
+	 * 
+	 * @return true if loaded.
+	 */
+	public boolean isReady() {
+		return sound != SILENCE;
+	}
+
 	/**
 	 * Returns this sound's underlying libGDX Sound.
 	 * 
@@ -114,4 +136,87 @@ public class Sound implements com.badlogic.gdx.audio.Sound {
 	public void resume(long soundId) {
 		sound.resume(soundId);
 	}
+
+	/**
+	 * A sound that does nothing, used by placeholders.
+	 */
+	private static class Silence implements com.badlogic.gdx.audio.Sound {
+		@Override
+		public long play() {
+			return -1;
+		}
+
+		@Override
+		public long play(float volume) {
+			return -1;
+		}
+
+		@Override
+		public long play(float volume, float pitch, float pan) {
+			return -1;
+		}
+
+		@Override
+		public long loop() {
+			return -1;
+		}
+
+		@Override
+		public long loop(float volume) {
+			return -1;
+		}
+
+		@Override
+		public long loop(float volume, float pitch, float pan) {
+			return -1;
+		}
+
+		@Override
+		public void stop() {
+		}
+
+		@Override
+		public void pause() {
+		}
+
+		@Override
+		public void resume() {
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public void stop(long soundId) {
+		}
+
+		@Override
+		public void pause(long soundId) {
+		}
+
+		@Override
+		public void resume(long soundId) {
+		}
+
+		@Override
+		public void setLooping(long soundId, boolean looping) {
+		}
+
+		@Override
+		public void setPitch(long soundId, float pitch) {
+		}
+
+		@Override
+		public void setVolume(long soundId, float volume) {
+		}
+
+		@Override
+		public void setPan(long soundId, float pan, float volume) {
+		}
+
+		@Override
+		public void setPriority(long soundId, int priority) {
+		}
+	}
 }
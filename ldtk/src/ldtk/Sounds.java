@@ -1,12 +1,12 @@
 package ldtk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 
 public class Sounds {
 	// All of the sounds.
-	private Map<String, Sound> sounds = new HashMap<String, Sound>(); 
+	private Registry<Sound> sounds = new Registry<Sound>();
+
+	// Where to load unknown sounds from in lazy mode.
+	Assets lazyAssets;
 
 	/**
 	 * Obtains a sound by name.
@@ -15,9 +15,40 @@ public class Sounds {
 	 * @return the sound.
 	 */
 	public Sound get(String name) {
-		return sounds.get(name);
+		Sound sound = sounds.get(name);
+		if (sound == null && lazyAssets != null && lazyAssets.requestSound(name)) {
+			sound = new Sound(this, name);
+			sounds.put(name, sound);
+		}
+		return sound;
 	}
 	
+	/**
+	 * Returns the handle of the sound with the given name. Looking a sound up by handle with get(int) is much cheaper
+	 * than looking it up by name, so resolve handles once, eg, when a state is entered, and use them every frame. A
+	 * handle stays valid even if the sound is disposed of and added again, and can be obtained before the sound exists.
+	 * 
+	 * @param name the name of the sound.
+	 * @return the handle.
+	 */
+	public int handle(String name) {
+		if (sounds.get(name) == null) {
+			// In lazy mode this starts loading it.
+			get(name);
+		}
+		return sounds.handle(name);
+	}
+
+	/**
+	 * Obtains a sound by handle.
+	 * 
+	 * @param handle the handle, from handle(String).
+	 * @return the sound, or null if there isn't one with that handle's name.
+	 */
+	public Sound get(int handle) {
+		return sounds.get(handle);
+	}
+
 	/**
 	 * Adds a named sound to the kernel.
 	 * 
@@ -25,7 +56,12 @@ public class Sounds {
 	 * @param gdxSound the underlying libGDX sound.
 	 */
 	public void add(String name, com.badlogic.gdx.audio.Sound gdxSound) {
-		sounds.put(name, new Sound(this, name, gdxSound));
+		Sound sound = sounds.get(name);
+		if (sound != null && !sound.isReady()) {
+			sound.resolve(gdxSound);
+		} else {
+			sounds.put(name, new Sound(this, name, gdxSound));
+		}
 	}
 
 	/**
@@ -5,6 +5,20 @@ package ldtk;
  */
 public class State {
 
+	private static final String[] NO_ASSET_PATHS = new String[0];
+
+	/**
+	 * Returns the paths of the assets that this state needs, eg, "level1". When the state selector asks for this state,
+	 * the kernel loads any of these paths that aren't already loaded in the background, carrying on with the current
+	 * state until they have loaded, and only then enters this state. Kernel.assets.progress() tells a loading screen
+	 * how far it has got.
+	 * 
+	 * @return the asset paths.
+	 */
+	public String[] assetPaths() {
+		return NO_ASSET_PATHS;
+	}
+
 	/**
 	 * Called by the kernel when the state is entered.
 	 */
@@ -17,6 +31,44 @@ public class State {
 	public void exit() {
 	}
 
+	/**
+	 * Returns true if this state is an overlay, such as a pause menu. When the kernel switches to an overlay it
+	 * suspends the current state rather than exiting it, and when the state selector next asks for a suspended state
+	 * the kernel exits the states above it and resumes it rather than entering it again. Only the current state is
+	 * updated and drawn.
+	 * 
+	 * @return true if this state is an overlay.
+	 */
+	public boolean isOverlay() {
+		return false;
+	}
+
+	/**
+	 * Returns true if this state only needs to be drawn when something changes, such as a menu. While an idle state is
+	 * current the kernel turns off continuous rendering, so frames are only rendered when there is input, when the
+	 * window is resized, or when the state calls Gdx.graphics.requestRendering(). Continuous rendering comes back on
+	 * as soon as a state that isn't idle is current, when the state asks for a transition, or while assets or tasks
+	 * are loading in the background. Each frame rendered while idle runs exactly one update.
+	 * 
+	 * @return true if this state is idle.
+	 */
+	public boolean isIdle() {
+		return false;
+	}
+
+	/**
+	 * Called by the kernel when an overlay is entered on top of this state. The state should keep hold of its
+	 * resources, such as its cameras and its world, so that it can be resumed quickly.
+	 */
+	public void suspend() {
+	}
+
+	/**
+	 * Called by the kernel when this state becomes current again after being suspended.
+	 */
+	public void resume() {
+	}
+
 	/**
 	 * Called by the kernel to ask the state to update itself.
 	 */
@@ -24,7 +76,23 @@ public class State {
 	}
 
 	/**
-	 * Called by the kernel to ask the state to draw itself.
+	 * Called by the kernel after the state has been entered and after each frame's updates, on the same thread as
+	 * update(). The state should copy whatever draw() needs into a snapshot, such as the back of a DoubleBuffer, so
+	 * that the kernel can run update() and draw() at the same time in threaded mode.
+	 */
+	public void snapshot() {
+	}
+
+	/**
+	 * Called by the kernel before draw(), when update() is not running, to make the latest snapshot the one that
+	 * draw() reads, eg, by swapping a DoubleBuffer.
+	 */
+	public void publish() {
+	}
+
+	/**
+	 * Called by the kernel to ask the state to draw itself. In threaded mode this runs at the same time as update(),
+	 * so it must only read what has been published.
 	 */
 	public void draw() {
 	}
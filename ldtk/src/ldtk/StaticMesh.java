@@ -0,0 +1,197 @@
+package ldtk;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Geometry that never changes, such as a landscape, held in a vertex buffer on the GPU so that drawing it doesn't copy
+ * any vertices. It is built once from quads in the same layout that SpriteBatch.draw(Texture, float[], int, int) takes,
+ * and any run of those quads can then be drawn by index with the batch's current projection and transform.
+ *
+ * Drawing a static mesh flushes the batch and switches shaders, so each draw costs a render call of its own. When the
+ * render queue is enabled, static meshes that are drawn one after another in the sorted order share a single switch.
+ * Without GL20 the quads are drawn through the batch instead, exactly as before. The vertex buffer is managed, so it
+ * is restored when the GL context is lost.
+ */
+public class StaticMesh implements Disposable {
+
+	/**
+	 * The most quads that a static mesh can hold, as its indices are shorts.
+	 */
+	public static final int MAX_QUADS = 0x10000 / 4;
+
+	private static final int VERTICES_PER_QUAD = 20;
+	private static final int INDICES_PER_QUAD = 6;
+
+	private static ShaderProgram shader;
+	private static int shaderUsers;
+
+	private final Texture texture;
+	private final float[] vertices;
+	private final int quadCount;
+	private final Matrix4 combined = new Matrix4();
+	private Mesh mesh;
+
+	/**
+	 * Creates a static mesh and uploads its quads.
+	 *
+	 * @param texture the texture that the quads are drawn with.
+	 * @param vertices the quads, 20 floats per quad: x, y, colour, u and v for each corner, anti-clockwise from the top
+	 *            left. The array is kept for drawing without GL20, so it mustn't be changed.
+	 */
+	public StaticMesh(Texture texture, float[] vertices) {
+		this.texture = texture;
+		this.vertices = vertices;
+		this.quadCount = vertices.length / VERTICES_PER_QUAD;
+		if (quadCount > MAX_QUADS) {
+			throw new IllegalArgumentException("A static mesh can hold at most " + MAX_QUADS + " quads");
+		}
+		if (Gdx.graphics.isGL20Available()) {
+			mesh = new Mesh(true, quadCount * 4, quadCount * INDICES_PER_QUAD, new VertexAttribute(Usage.Position, 2,
+					ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4,
+					ShaderProgram.COLOR_ATTRIBUTE), new VertexAttribute(Usage.TextureCoordinates, 2,
+					ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			mesh.setVertices(vertices);
+			mesh.setIndices(createIndices(quadCount));
+			if (shaderUsers++ == 0) {
+				shader = SpriteBatch.createDefaultShader();
+			}
+		}
+	}
+
+	/**
+	 * Returns the texture that this mesh is drawn with.
+	 *
+	 * @return the texture.
+	 */
+	public Texture texture() {
+		return texture;
+	}
+
+	/**
+	 * Returns the number of quads in this mesh.
+	 *
+	 * @return the number of quads.
+	 */
+	public int quadCount() {
+		return quadCount;
+	}
+
+	/**
+	 * Draws a run of this mesh's quads with the batch's projection and transform, or queues them if the render queue is
+	 * recording.
+	 *
+	 * @param firstQuad the index of the first quad to draw.
+	 * @param count the number of quads to draw.
+	 */
+	public void draw(int firstQuad, int count) {
+		if (count <= 0) {
+			return;
+		}
+		Kernel.renderQueue.draw(this, firstQuad, count);
+	}
+
+	/**
+	 * Returns true if this mesh is held in a vertex buffer, which needs GL20, and so can be drawn with renderBetween().
+	 */
+	boolean isBuffered() {
+		return mesh != null;
+	}
+
+	/**
+	 * Draws a run of quads straight away, between the batch's flushes.
+	 */
+	void render(SpriteBatch batch, int firstQuad, int count) {
+		if (mesh == null) {
+			batch.draw(texture, vertices, firstQuad * VERTICES_PER_QUAD, count * VERTICES_PER_QUAD);
+			return;
+		}
+		begin(batch);
+		renderBetween(batch, firstQuad, count);
+		end(batch);
+	}
+
+	/**
+	 * Suspends the batch so that static meshes can be drawn with renderBetween(). Ending the batch flushes it and
+	 * releases its shader and blending, and end() begins it again to restore them.
+	 */
+	static void begin(SpriteBatch batch) {
+		int renderCalls = batch.renderCalls;
+		batch.end();
+		// Ending the batch doesn't reset its count of render calls, but beginning it does.
+		batch.renderCalls = renderCalls;
+		GL20 gl = Gdx.gl20;
+		if (batch.isBlendingEnabled()) {
+			gl.glEnable(GL20.GL_BLEND);
+			if (batch.getBlendSrcFunc() != -1) {
+				gl.glBlendFunc(batch.getBlendSrcFunc(), batch.getBlendDstFunc());
+			}
+		}
+		gl.glDepthMask(false);
+		shader.begin();
+		shader.setUniformi("u_texture", 0);
+	}
+
+	/**
+	 * Draws a run of quads with the batch's projection and transform, between begin() and end().
+	 */
+	void renderBetween(SpriteBatch batch, int firstQuad, int count) {
+		combined.set(batch.getProjectionMatrix()).mul(batch.getTransformMatrix());
+		shader.setUniformMatrix("u_projTrans", combined);
+		texture.bind(0);
+		mesh.render(shader, GL20.GL_TRIANGLES, firstQuad * INDICES_PER_QUAD, count * INDICES_PER_QUAD);
+		batch.renderCalls++;
+	}
+
+	/**
+	 * Begins the batch again after static meshes have been drawn.
+	 */
+	static void end(SpriteBatch batch) {
+		shader.end();
+		if (batch.isBlendingEnabled()) {
+			Gdx.gl20.glDisable(GL20.GL_BLEND);
+		}
+		Gdx.gl20.glDepthMask(true);
+		int renderCalls = batch.renderCalls;
+		batch.begin();
+		batch.renderCalls = renderCalls;
+	}
+
+	/**
+	 * Disposes of this mesh's vertex buffer. Its texture is left alone.
+	 */
+	@Override
+	public void dispose() {
+		if (mesh == null) {
+			return;
+		}
+		mesh.dispose();
+		mesh = null;
+		if (--shaderUsers == 0) {
+			shader.dispose();
+			shader = null;
+		}
+	}
+
+	private static short[] createIndices(int quadCount) {
+		// Two triangles per quad, exactly as SpriteBatch draws them.
+		short[] indices = new short[quadCount * INDICES_PER_QUAD];
+		for (int i = 0, j = 0; i < indices.length; i += INDICES_PER_QUAD, j += 4) {
+			indices[i] = (short) j;
+			indices[i + 1] = (short) (j + 1);
+			indices[i + 2] = (short) (j + 2);
+			indices[i + 3] = (short) (j + 2);
+			indices[i + 4] = (short) (j + 3);
+			indices[i + 5] = (short) j;
+		}
+		return indices;
+	}
+}
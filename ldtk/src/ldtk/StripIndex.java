@@ -0,0 +1,122 @@
+package ldtk;
+
+/**
+ * Finds which of a strip of quads, sorted from left to right, are visible in a camera, such as the quads of a
+ * landscape or a row of tiles. Finding them takes a binary search, or less when the camera has only moved a little
+ * since the last time, rather than a scan from the start of the strip.
+ *
+ * The quads are in the layout that SpriteBatch.draw(Texture, float[], int, int) takes. They must be sorted by their
+ * left edges, but they may overlap and be of any width. After find() has been called, first() and count() give the
+ * run of quads to draw.
+ */
+public class StripIndex {
+
+	private static final int VERTICES_PER_QUAD = 20;
+	private static final int CURSOR_STEPS = 4;
+
+	private final float[] lefts;
+	private final float[] rights;
+	private int first;
+	private int end;
+
+	/**
+	 * Creates an index of the given quads.
+	 *
+	 * @param vertices the quads, 20 floats per quad: x, y, colour, u and v for each corner.
+	 */
+	public StripIndex(float[] vertices) {
+		int quadCount = vertices.length / VERTICES_PER_QUAD;
+		lefts = new float[quadCount];
+		rights = new float[quadCount];
+		float furthestRight = Float.NEGATIVE_INFINITY;
+		for (int i = 0, j = 0; i < quadCount; i++, j += VERTICES_PER_QUAD) {
+			float left = Math.min(Math.min(vertices[j], vertices[j + 5]), Math.min(vertices[j + 10], vertices[j + 15]));
+			float right = Math.max(Math.max(vertices[j], vertices[j + 5]), Math.max(vertices[j + 10], vertices[j + 15]));
+			if (i > 0 && left < lefts[i - 1]) {
+				throw new IllegalArgumentException("The quads must be sorted by their left edges");
+			}
+			lefts[i] = left;
+			// The furthest right edge so far, rather than the quad's own, so that it can be searched even if a wide quad
+			// overlaps the ones after it.
+			furthestRight = Math.max(furthestRight, right);
+			rights[i] = furthestRight;
+		}
+	}
+
+	/**
+	 * Returns the number of quads in the strip.
+	 *
+	 * @return the number of quads.
+	 */
+	public int quadCount() {
+		return lefts.length;
+	}
+
+	/**
+	 * Finds the quads that are visible in the given camera, ignoring its angle.
+	 *
+	 * @param camera the camera.
+	 */
+	public void find(Camera camera) {
+		float halfWidth = camera.width() / 2;
+		find(camera.x() - halfWidth, camera.x() + halfWidth);
+	}
+
+	/**
+	 * Finds the quads that overlap the given range of x coordinates.
+	 *
+	 * @param left the left of the range.
+	 * @param right the right of the range.
+	 */
+	public void find(float left, float right) {
+		first = search(rights, left, first);
+		end = Math.max(first, search(lefts, right, end));
+	}
+
+	/**
+	 * Returns the index of the first quad found by the last call to find().
+	 *
+	 * @return the index of the first visible quad.
+	 */
+	public int first() {
+		return first;
+	}
+
+	/**
+	 * Returns the number of quads found by the last call to find().
+	 *
+	 * @return the number of visible quads.
+	 */
+	public int count() {
+		return end - first;
+	}
+
+	/**
+	 * Returns the index of the first value that is at least the given one, or the length if there isn't one. The values
+	 * must be in ascending order. The answer is looked for near the last one first.
+	 */
+	private static int search(float[] values, float value, int cursor) {
+		int n = values.length;
+		cursor = Math.min(cursor, n);
+		// Most of the time the camera has only moved a few quads, if at all, so step from the last answer.
+		for (int step = 0; step < CURSOR_STEPS; step++) {
+			boolean isAtOrAfter = cursor == n || values[cursor] >= value;
+			if (isAtOrAfter && (cursor == 0 || values[cursor - 1] < value)) {
+				return cursor;
+			}
+			cursor += isAtOrAfter ? -1 : 1;
+		}
+
+		int low = 0;
+		int high = n;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] >= value) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+}
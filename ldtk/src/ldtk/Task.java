@@ -0,0 +1,14 @@
+package ldtk;
+
+/**
+ * A resumable unit of work that the kernel's scheduler runs a slice at a time, so that heavy work can be spread across
+ * frames. Each call to run() should do a small, bounded amount of work and remember where it got to.
+ */
+public interface Task {
+	/**
+	 * Does the next slice of work.
+	 * 
+	 * @return true if the task has finished, false if it needs to run again.
+	 */
+	public boolean run();
+}
@@ -0,0 +1,148 @@
+package ldtk;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+
+/**
+ * A string laid out in a font, obtained from Font.text(). Its glyphs are laid out once, into a BitmapFontCache, and are
+ * then moved and recoloured rather than laid out again each time it is drawn. A font keeps the texts that it has handed
+ * out in a cache of its own, evicting the least recently used ones. A text that is held on to always draws its own
+ * string, but once it has been evicted its layout may be given to another text, and it is laid out again the next time
+ * it is drawn or measured.
+ */
+public class Text {
+
+	private static final int VERTICES_PER_QUAD = 20;
+
+	private final Font font;
+	private CharSequence string;
+	private BitmapFont bitmapFont;
+	private BitmapFontCache cache;
+	private int[] pageQuads;
+	private float width;
+	private float height;
+
+	Text(Font font) {
+		this.font = font;
+	}
+
+	/**
+	 * Returns the string that this text is a layout of.
+	 *
+	 * @return the string.
+	 */
+	public CharSequence string() {
+		return string;
+	}
+
+	/**
+	 * Draws this text.
+	 *
+	 * @param x the x coordinate of the bottom left of the text.
+	 * @param y the y coordinate of the bottom left of the text.
+	 * @param color the colour of the text.
+	 */
+	public void draw(float x, float y, Color color) {
+		if (!layOut()) {
+			return;
+		}
+		cache.setPosition(x, y + height);
+		cache.setColor(color);
+		// Drawn through the queue even when it is disabled, in which case it draws straight to the batch, so that the
+		// vertices are counted either way.
+		for (int page = 0; page < pageQuads.length; page++) {
+			if (pageQuads[page] > 0) {
+				Kernel.renderQueue.draw(bitmapFont.getRegion(page).getTexture(), cache.getVertices(page), 0,
+						pageQuads[page] * VERTICES_PER_QUAD);
+			}
+		}
+	}
+
+	/**
+	 * Returns the width of this text.
+	 *
+	 * @return the width, or 0 if its font hasn't loaded yet.
+	 */
+	public float width() {
+		layOut();
+		return width;
+	}
+
+	/**
+	 * Returns the height of this text, which is the height of its font.
+	 *
+	 * @return the height, or 0 if its font hasn't loaded yet.
+	 */
+	public float height() {
+		layOut();
+		return height;
+	}
+
+	/**
+	 * Makes this text a layout of the given string. It is laid out the next time it is drawn or measured.
+	 */
+	void set(CharSequence string) {
+		this.string = string;
+		this.bitmapFont = null;
+	}
+
+	/**
+	 * Takes the layout of a text that has been evicted from its font's cache, so that this text can reuse its
+	 * BitmapFontCache rather than creating one. The evicted text keeps its string, and lays itself out again if it is
+	 * used.
+	 */
+	void reuseLayout(Text evicted) {
+		cache = evicted.cache;
+		pageQuads = evicted.pageQuads;
+		evicted.cache = null;
+		evicted.pageQuads = null;
+		evicted.bitmapFont = null;
+	}
+
+	/**
+	 * Lays this text out, if it hasn't been laid out with its font's current BitmapFont, returning false if the font
+	 * hasn't loaded yet.
+	 */
+	private boolean layOut() {
+		BitmapFont current = font.bitmapFont();
+		if (current == bitmapFont) {
+			return bitmapFont != null;
+		}
+		bitmapFont = current;
+		if (bitmapFont == null) {
+			width = 0;
+			height = 0;
+			return false;
+		}
+		if (cache == null || cache.getFont() != bitmapFont) {
+			cache = new BitmapFontCache(bitmapFont, bitmapFont.usesIntegerPositions());
+			pageQuads = new int[bitmapFont.getRegions().length];
+		}
+		TextBounds bounds = cache.setText(string, 0, 0);
+		width = bounds.width;
+		height = bitmapFont.getLineHeight();
+		countPageQuads();
+		return true;
+	}
+
+	/**
+	 * Counts the glyphs on each page. The cache doesn't say how many there are, so they are counted the same way that
+	 * it counts them.
+	 */
+	private void countPageQuads() {
+		for (int page = 0; page < pageQuads.length; page++) {
+			pageQuads[page] = 0;
+		}
+		BitmapFontData data = bitmapFont.getData();
+		for (int i = 0, n = string.length(); i < n; i++) {
+			Glyph glyph = data.getGlyph(string.charAt(i));
+			if (glyph != null) {
+				pageQuads[glyph.page]++;
+			}
+		}
+	}
+}
@@ -10,4 +10,16 @@ public class Time {
 	 * The time, in seconds, that the kernel has been running.
 	 */
 	public float time;
+
+	/**
+	 * The number of ticks, ie, calls to State.update(), that the kernel has run.
+	 */
+	public long ticks;
+
+	/**
+	 * How far the frame being drawn lies between the previous tick and the current tick, from 0 to 1. States can use
+	 * this in draw() to interpolate between their previous and current positions. It is always 1 unless the kernel is
+	 * running with a fixed timestep.
+	 */
+	public float alpha = 1.0f;
 }
@@ -7,7 +7,7 @@ public class Tune implements com.badlogic.gdx.audio.Music {
 	
 	private final Tunes tunes;
 	private final String name;
-	private final com.badlogic.gdx.audio.Music music;
+	private com.badlogic.gdx.audio.Music music;
 
 	Tune(Tunes tunes, String name, com.badlogic.gdx.audio.Music music) {
 		this.tunes = tunes;
@@ -15,6 +15,36 @@ public class Tune implements com.badlogic.gdx.audio.Music {
 		this.music = music;
 	}
 
+	/**
+	 * Creates a placeholder for a tune that is still loading. It remembers whether it has been asked to play, loop, and
+	 * so on, and does so once it is resolved.
+	 */
+	Tune(Tunes tunes, String name) {
+		this(tunes, name, new Pending());
+	}
+
+	void resolve(com.badlogic.gdx.audio.Music music) {
+		Pending pending = (Pending) this.music;
+		this.music = music;
+		music.setLooping(pending.isLooping);
+		music.setVolume(pending.volume);
+		if (pending.listener != null) {
+			music.setOnCompletionListener(pending.listener);
+		}
+		if (pending.isPlaying) {
+			music.play();
+		}
+	}
+
+	/**
+	 * Returns true if this tune has loaded.
+	 * 
+	 * @return true if loaded.
+	 */
+	public boolean isReady() {
+		return !(music instanceof Pending);
+	}
+
 	/**
 	 * Returns this sound's underlying libGDX Music.
 	 * 
@@ -84,4 +114,73 @@ public class Tune implements com.badlogic.gdx.audio.Music {
 	public void setOnCompletionListener(OnCompletionListener listener) {
 		music.setOnCompletionListener(listener);
 	}
+
+	/**
+	 * Music that hasn't loaded yet, used by placeholders.
+	 */
+	private static class Pending implements com.badlogic.gdx.audio.Music {
+		boolean isPlaying;
+		boolean isLooping;
+		float volume = 1.0f;
+		OnCompletionListener listener;
+
+		@Override
+		public void play() {
+			isPlaying = true;
+		}
+
+		@Override
+		public void pause() {
+			isPlaying = false;
+		}
+
+		@Override
+		public void stop() {
+			isPlaying = false;
+		}
+
+		@Override
+		public boolean isPlaying() {
+			return false;
+		}
+
+		@Override
+		public void setLooping(boolean isLooping) {
+			this.isLooping = isLooping;
+		}
+
+		@Override
+		public boolean isLooping() {
+			return isLooping;
+		}
+
+		@Override
+		public void setVolume(float volume) {
+			this.volume = volume;
+		}
+
+		@Override
+		public float getVolume() {
+			return volume;
+		}
+
+		@Override
+		public void setPan(float pan, float volume) {
+			this.volume = volume;
+		}
+
+		@Override
+		public float getPosition() {
+			return 0;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public void setOnCompletionListener(OnCompletionListener listener) {
+			this.listener = listener;
+		}
+	}
 }
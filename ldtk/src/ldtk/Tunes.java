@@ -1,12 +1,12 @@
 package ldtk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 
 public class Tunes {
 	// All of the music.
-	private Map<String, Tune> tunes = new HashMap<String, Tune>(); 
+	private Registry<Tune> tunes = new Registry<Tune>();
+
+	// Where to load unknown tunes from in lazy mode.
+	Assets lazyAssets;
 
 	/**
 	 * Obtains a tune by name.
@@ -15,9 +15,40 @@ public class Tunes {
 	 * @return the sound.
 	 */
 	public Tune get(String name) {
-		return tunes.get(name);
+		Tune tune = tunes.get(name);
+		if (tune == null && lazyAssets != null && lazyAssets.requestTune(name)) {
+			tune = new Tune(this, name);
+			tunes.put(name, tune);
+		}
+		return tune;
 	}
 	
+	/**
+	 * Returns the handle of the tune with the given name. Looking a tune up by handle with get(int) is much cheaper
+	 * than looking it up by name, so resolve handles once, eg, when a state is entered, and use them every frame. A
+	 * handle stays valid even if the tune is disposed of and added again, and can be obtained before the tune exists.
+	 * 
+	 * @param name the name of the tune.
+	 * @return the handle.
+	 */
+	public int handle(String name) {
+		if (tunes.get(name) == null) {
+			// In lazy mode this starts loading it.
+			get(name);
+		}
+		return tunes.handle(name);
+	}
+
+	/**
+	 * Obtains a tune by handle.
+	 * 
+	 * @param handle the handle, from handle(String).
+	 * @return the tune, or null if there isn't one with that handle's name.
+	 */
+	public Tune get(int handle) {
+		return tunes.get(handle);
+	}
+
 	/**
 	 * Adds a named tune to the kernel.
 	 * 
@@ -25,7 +56,12 @@ public class Tunes {
 	 * @param gdxSound the underlying libGDX music.
 	 */
 	public void add(String name, com.badlogic.gdx.audio.Music gdxMusic) {
-		tunes.put(name, new Tune(this, name, gdxMusic));
+		Tune tune = tunes.get(name);
+		if (tune != null && !tune.isReady()) {
+			tune.resolve(gdxMusic);
+		} else {
+			tunes.put(name, new Tune(this, name, gdxMusic));
+		}
 	}
 
 	/**
@@ -0,0 +1,75 @@
+package ldtk;
+
+import java.util.concurrent.Semaphore;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A worker thread that runs a task on request, so that the kernel can update the current state while the render
+ * thread draws.
+ */
+class UpdateThread implements Runnable {
+
+	private final Semaphore started;
+	private final Semaphore finished;
+	private final Thread thread;
+	private Runnable task;
+	private Throwable failure;
+	private volatile boolean isRunning;
+
+	UpdateThread(String name) {
+		this.started = new Semaphore(0);
+		this.finished = new Semaphore(0);
+		this.isRunning = true;
+		this.thread = new Thread(this, name);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Starts running the given task on the worker thread.
+	 * 
+	 * @param task the task.
+	 */
+	void begin(Runnable task) {
+		this.task = task;
+		started.release();
+	}
+
+	/**
+	 * Waits for the task to finish, rethrowing anything that it threw.
+	 */
+	void end() {
+		finished.acquireUninterruptibly();
+		if (failure != null) {
+			Throwable t = failure;
+			failure = null;
+			throw new GdxRuntimeException("Update failed", t);
+		}
+	}
+
+	/**
+	 * Stops the worker thread once it has finished any task that it is running.
+	 */
+	void dispose() {
+		isRunning = false;
+		thread.interrupt();
+	}
+
+	@Override
+	public void run() {
+		while (isRunning) {
+			try {
+				started.acquire();
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				task.run();
+			} catch (Throwable t) {
+				failure = t;
+			}
+			finished.release();
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package ldtk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * Chooses which file to load each asset from, such as a reduced-resolution or ETC1 variant of a texture, or a font's
+ * binary version, and remembers the choice so that the asset can be found by its original filename. Other things that
+ * load an asset from another file, such as sharing, record that here too.
+ */
+class Variants {
+
+	private static final String TAG = "Assets";
+
+	private final Assets assets;
+	private final Map<String, Variant> variants = new HashMap<String, Variant>();
+	private float[] scales;
+	private float textureScale = 1.0f;
+	private boolean isCompressing;
+
+	Variants(Assets assets) {
+		this.assets = assets;
+	}
+
+	/**
+	 * Enables texture variants with the given scales, choosing the one closest to the given texture scale, as described
+	 * in Assets.setTextureVariants().
+	 */
+	void setTextureScales(float textureScale, float[] scales, boolean isCompressing) {
+		this.textureScale = textureScale;
+		this.scales = scales;
+		this.isCompressing = isCompressing;
+	}
+
+	/**
+	 * Chooses which variant of a texture, atlas or font to load, returning the filename to give to the asset manager.
+	 */
+	String resolve(String filename, Class<?> klass) {
+		if (klass == BitmapFont.class) {
+			return resolveBinaryFont(filename);
+		}
+		if (scales == null || (klass != Texture.class && klass != TextureAtlas.class && klass != Pixmap.class)) {
+			return filename;
+		}
+		String basePath = assets.getBasePath();
+		String relativeFilename = filename.substring(basePath.length());
+		String dir = AssetManifest.dirOf(relativeFilename);
+		String name = relativeFilename.substring(dir.length());
+
+		String best = relativeFilename;
+		float bestScale = 1.0f;
+		for (float scale : scales) {
+			String candidate = dir + "@" + scaleSuffix(scale) + "x" + name;
+			if (isCloser(scale, bestScale) && assets.exists(candidate)) {
+				best = candidate;
+				bestScale = scale;
+			}
+		}
+		// Only the asset manager's texture loader understands ETC1, so packed textures are never compressed.
+		if (isCompressing && klass == Texture.class && best.endsWith(".png")) {
+			String compressed = best.substring(0, best.length() - 4) + ".etc1";
+			if (assets.exists(compressed)) {
+				best = compressed;
+			}
+		}
+		if (best.equals(relativeFilename)) {
+			return filename;
+		}
+		Gdx.app.debug(TAG, "Using " + best + " for " + relativeFilename + ".");
+		variants.put(filename, new Variant(basePath + best, bestScale));
+		return basePath + best;
+	}
+
+	/**
+	 * Returns the filename of a font's binary version, if it has one, as it loads without any text parsing.
+	 */
+	String resolveBinaryFont(String filename) {
+		String basePath = assets.getBasePath();
+		String binaryFilename = binaryFontFilename(filename.substring(basePath.length()));
+		if (!assets.exists(binaryFilename)) {
+			return filename;
+		}
+		variants.put(filename, new Variant(basePath + binaryFilename, 1.0f));
+		return basePath + binaryFilename;
+	}
+
+	/**
+	 * Loads an asset from another file, such as an identical asset that it shares, at the scale of the variant that was
+	 * chosen for it.
+	 */
+	void redirect(String filename, String loadedFilename) {
+		variants.put(filename, new Variant(loadedFilename, scale(filename)));
+	}
+
+	/**
+	 * Forgets the variant chosen for an asset that has been unloaded.
+	 */
+	void remove(String filename) {
+		variants.remove(filename);
+	}
+
+	/**
+	 * Returns the filename that the asset manager loaded an asset from, which is a variant's filename if one was chosen.
+	 */
+	String loadedFilename(String filename) {
+		Variant variant = variants.get(filename);
+		return variant != null ? variant.filename : filename;
+	}
+
+	/**
+	 * Returns the resolution of the variant that an asset was loaded from, relative to the original.
+	 */
+	float scale(String filename) {
+		Variant variant = variants.get(filename);
+		return variant != null ? variant.scale : 1.0f;
+	}
+
+	private static String binaryFontFilename(String filename) {
+		return filename.substring(0, filename.length() - ".fnt".length()) + BinaryFont.EXTENSION;
+	}
+
+	/**
+	 * Returns true if a variant with the given scale is a better match for the texture scale than one with the best
+	 * scale so far. Scales are compared by ratio, so 0.5 and 2 are equally far from 1. Ties go to the higher resolution.
+	 */
+	private boolean isCloser(float scale, float bestScale) {
+		float distance = Math.abs((float) Math.log(scale / textureScale));
+		float bestDistance = Math.abs((float) Math.log(bestScale / textureScale));
+		return distance < bestDistance || (distance == bestDistance && scale > bestScale);
+	}
+
+	private static String scaleSuffix(float scale) {
+		return scale == (int) scale ? Integer.toString((int) scale) : Float.toString(scale);
+	}
+
+	/**
+	 * The variant of an asset that was loaded in place of the original, such as a lower resolution texture or a binary
+	 * font.
+	 */
+	private static class Variant {
+		final String filename;
+		final float scale;
+
+		Variant(String filename, float scale) {
+			this.filename = filename;
+			this.scale = scale;
+		}
+	}
+}